@@ -0,0 +1,65 @@
+package com.employees.employees.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Embedded H2 database (MySQL mode) seeded with a fixed, reproducible employee population.
+ */
+public class BenchmarkDatabase implements AutoCloseable {
+    public static final int TEAMS = 20;
+    static final String[] FIRST_NAMES = {"Mirko", "Predrag", "Petar", "Vojislav", "Ana", "Milica", "Jelena", "Marko", "Nikola", "Ivana"};
+    private static final int BATCH_SIZE = 5000;
+
+    private final HikariDataSource dataSource;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public BenchmarkDatabase(String name, int employees) {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(4);
+        new ResourceDatabasePopulator(new ClassPathResource("benchmark-schema.sql")).execute(dataSource);
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        seed(employees);
+    }
+
+    public NamedParameterJdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    public static String nameOf(long id) {
+        return FIRST_NAMES[(int) (id % FIRST_NAMES.length)] + " Employee" + id;
+    }
+
+    private void seed(int employees) {
+        for (int team = 1; team <= TEAMS; team++) {
+            jdbcTemplate.update("INSERT INTO Team (name) VALUES (:name)", new MapSqlParameterSource("name", "Team " + team));
+        }
+        List<SqlParameterSource> batch = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= employees; id++) {
+            batch.add(new MapSqlParameterSource()
+                    .addValue("id", id)
+                    .addValue("name", nameOf(id))
+                    .addValue("isTeamLead", id % 25 == 0)
+                    .addValue("idTeam", (int) (id % TEAMS) + 1));
+            if (batch.size() == BATCH_SIZE || id == employees) {
+                jdbcTemplate.batchUpdate("INSERT INTO Employee (id, name, isTeamLead, idTeam) VALUES (:id, :name, :isTeamLead, :idTeam)",
+                        batch.toArray(new SqlParameterSource[0]));
+                batch.clear();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,39 @@
+package com.employees.employees.benchmark;
+
+import com.employees.employees.dto.EmployeeDto;
+import com.employees.employees.entity.Employee;
+import com.employees.employees.mapper.EmployeeMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeMapperBenchmark {
+    private Employee employee;
+    private EmployeeDto employeeDto;
+
+    @Setup
+    public void setUp() {
+        employee = new Employee();
+        employee.setId(123456L);
+        employee.setName(BenchmarkDatabase.nameOf(123456L));
+        employee.setIsTeamLead(true);
+        employee.setIdTeam(1);
+        employeeDto = EmployeeMapper.MAPPER.mapToEmployeeDto(employee);
+    }
+
+    @Benchmark
+    public EmployeeDto mapToEmployeeDto() {
+        return EmployeeMapper.MAPPER.mapToEmployeeDto(employee);
+    }
+
+    @Benchmark
+    public Employee mapToEmployee() {
+        return EmployeeMapper.MAPPER.mapToEmployee(employeeDto);
+    }
+}
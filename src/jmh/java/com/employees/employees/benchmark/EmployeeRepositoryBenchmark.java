@@ -0,0 +1,76 @@
+package com.employees.employees.benchmark;
+
+import com.employees.employees.entity.Employee;
+import com.employees.employees.repository.impl.EmployeeRepositoryImpl;
+import com.employees.employees.repository.impl.TeamRepositoryImpl;
+import com.employees.employees.search.SearchMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raw repository cost against a seeded embedded database. The repositories are created without
+ * Spring proxies, so caches are bypassed and every call reaches the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeRepositoryBenchmark {
+    @Param({"1000", "10000", "100000"})
+    private int employees;
+
+    private BenchmarkDatabase database;
+    private EmployeeRepositoryImpl employeeRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = new BenchmarkDatabase("repository" + employees, employees);
+        TeamRepositoryImpl teamRepository = new TeamRepositoryImpl(database.getJdbcTemplate(), event -> { }, new SimpleMeterRegistry());
+        employeeRepository = new EmployeeRepositoryImpl(database.getJdbcTemplate(), teamRepository, new NoOpCacheManager(), event -> { }, new SimpleMeterRegistry(), 1000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public Optional<Employee> getById() {
+        return employeeRepository.getById(ThreadLocalRandom.current().nextLong(1, employees + 1));
+    }
+
+    @Benchmark
+    public List<Employee> searchByName() {
+        return employeeRepository.search(null, "mirk", SearchMode.CONTAINS, null, null);
+    }
+
+    @Benchmark
+    public List<Employee> searchByNamePrefix() {
+        return employeeRepository.search(null, "mirko employee1", SearchMode.PREFIX, null, null);
+    }
+
+    @Benchmark
+    public List<Employee> searchByTeam() {
+        return employeeRepository.search(null, null, SearchMode.CONTAINS, null, ThreadLocalRandom.current().nextInt(1, BenchmarkDatabase.TEAMS + 1));
+    }
+
+    @Benchmark
+    public List<Employee> getPage() {
+        return employeeRepository.getPage(ThreadLocalRandom.current().nextLong(0, employees), 100);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 3, time = 2)
+    public List<Employee> getAll() {
+        return employeeRepository.getAll();
+    }
+}
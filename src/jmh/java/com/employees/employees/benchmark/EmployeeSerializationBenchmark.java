@@ -0,0 +1,42 @@
+package com.employees.employees.benchmark;
+
+import com.employees.employees.dto.EmployeeDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSerializationBenchmark {
+    @Param({"100", "1000", "10000"})
+    private int employees;
+
+    private ObjectMapper objectMapper;
+    private List<EmployeeDto> employeeDtos;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        employeeDtos = new ArrayList<>(employees);
+        for (long id = 1; id <= employees; id++) {
+            EmployeeDto employeeDto = new EmployeeDto();
+            employeeDto.setId(id);
+            employeeDto.setName(BenchmarkDatabase.nameOf(id));
+            employeeDto.setIsTeamLead(id % 25 == 0);
+            employeeDto.setIdTeam((int) (id % BenchmarkDatabase.TEAMS) + 1);
+            employeeDtos.add(employeeDto);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return objectMapper.writeValueAsBytes(employeeDtos);
+    }
+}
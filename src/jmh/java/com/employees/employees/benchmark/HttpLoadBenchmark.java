@@ -0,0 +1,147 @@
+package com.employees.employees.benchmark;
+
+import com.employees.employees.EmployeesApplication;
+import com.employees.employees.entity.Employee;
+import com.employees.employees.repository.EmployeeRepository;
+import com.employees.employees.repository.TeamRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/employees/{id} against the running application from 1024 concurrent clients, with the
+ * employee cache disabled so every request reaches the database. {@code execution} switches between
+ * handling requests on Tomcat's thread pool and on the bounded worker pool, {@code limiter} puts the
+ * datasource concurrency limiter in front of the connection pool. Non-2xx responses are reported
+ * as the {@code failed} counter, so shed load shows up next to the throughput. {@code storage} "memory"
+ * runs the same load against the in-memory store as a baseline without a database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(1024)
+public class HttpLoadBenchmark {
+    private static final int EMPLOYEES = 100_000;
+
+    @Param({"blocking", "async"})
+    private String execution;
+
+    @Param({"false", "true"})
+    private boolean limiter;
+
+    @Param({"h2", "memory"})
+    private String storage;
+
+    private BenchmarkDatabase database;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean memory = "memory".equals(storage);
+        String autoconfigureExclude = "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration";
+        if (memory) {
+            autoconfigureExclude += ",org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+                    + "org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration,"
+                    + "org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration";
+        } else {
+            database = new BenchmarkDatabase("http", EMPLOYEES);
+        }
+        // Own config name so application.properties (MySQL driver settings) is not picked up.
+        context = new SpringApplicationBuilder(EmployeesApplication.class)
+                .profiles(memory ? "memory" : "default")
+                .properties(
+                        "spring.config.name=benchmark",
+                        "spring.devtools.restart.enabled=false",
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:http;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.datasource.username=sa",
+                        // application.properties and its profile files are skipped, so their exclusions are repeated here.
+                        "spring.autoconfigure.exclude=" + autoconfigureExclude,
+                        "spring.datasource.hikari.maximum-pool-size=20",
+                        "spring.datasource.hikari.connection-timeout=2000",
+                        "employees.cache.employees.maximum-size=0",
+                        "employees.logging.request-sample-rate=0.0",
+                        "employees.execution.mode=" + execution,
+                        "employees.datasource.limiter.enabled=" + limiter,
+                        "logging.level.root=WARN")
+                .run();
+        if (memory) {
+            new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status ->
+                    seed(context.getBean(TeamRepository.class), context.getBean(EmployeeRepository.class)));
+        }
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/employees/";
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    /**
+     * The data {@link BenchmarkDatabase} inserts, written through the repositories in one transaction
+     * like a batch create.
+     */
+    private static void seed(TeamRepository teamRepository, EmployeeRepository employeeRepository) {
+        for (int team = 1; team <= BenchmarkDatabase.TEAMS; team++) {
+            teamRepository.create("Team " + team);
+        }
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (long id = 1; id <= EMPLOYEES; id++) {
+            Employee employee = new Employee();
+            employee.setId(id);
+            employee.setName(BenchmarkDatabase.nameOf(id));
+            employee.setIsTeamLead(id % 25 == 0);
+            employee.setIdTeam((int) (id % BenchmarkDatabase.TEAMS) + 1);
+            employees.add(employee);
+        }
+        employeeRepository.createAll(employees);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Failures {
+        public long failed;
+    }
+
+    @Benchmark
+    public int getById(Failures failures) throws IOException, InterruptedException {
+        long id = ThreadLocalRandom.current().nextLong(1, EMPLOYEES + 1);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + id))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status >= 300) {
+            failures.failed++;
+        }
+        return status;
+    }
+}
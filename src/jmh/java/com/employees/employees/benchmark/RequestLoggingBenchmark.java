@@ -0,0 +1,121 @@
+package com.employees.employees.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.employees.employees.dto.EmployeeDto;
+import com.employees.employees.logging.RequestLogSamplingFilter;
+import com.employees.employees.logging.SamplingTurboFilter;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.MDC;
+
+import java.io.OutputStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost of one GET /api/employees/{id} request. {@code payloadAtInfo} is how the controllers
+ * used to log, {@code sampledIdsAtInfo} is the current pattern with per-request sampling. Output goes
+ * through the console pattern into a discarding stream, so only the logging pipeline is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestLoggingBenchmark {
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss.SSS} %5p --- [%t] %-40.40logger{39} : %m%n";
+
+    @Param({"SYNC", "ASYNC"})
+    private String appender;
+
+    @Param({"1.0", "0.1"})
+    private double sampleRate;
+
+    private LoggerContext context;
+    private Logger logger;
+    private EmployeeDto employeeDto;
+
+    @Setup
+    public void setUp() {
+        context = new LoggerContext();
+
+        SamplingTurboFilter samplingFilter = new SamplingTurboFilter();
+        samplingFilter.setLoggerPrefix("com.employees.employees.controller");
+        samplingFilter.start();
+        context.addTurboFilter(samplingFilter);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+        output.setContext(context);
+        output.setEncoder(encoder);
+        output.setOutputStream(new DiscardingOutputStream());
+        output.start();
+
+        Appender<ILoggingEvent> root = output;
+        if ("ASYNC".equals(appender)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(1024);
+            async.setNeverBlock(true);
+            async.addAppender(output);
+            async.start();
+            root = async;
+        }
+        Logger rootLogger = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        rootLogger.detachAndStopAllAppenders();
+        rootLogger.addAppender(root);
+        rootLogger.setLevel(Level.INFO);
+
+        logger = context.getLogger("com.employees.employees.controller.EmployeeController");
+        employeeDto = new EmployeeDto();
+        employeeDto.setId(123456L);
+        employeeDto.setName("Mirko");
+        employeeDto.setIsTeamLead(true);
+        employeeDto.setIdTeam(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void payloadAtInfo() {
+        logger.info("Received request to fetch employee with ID: {}", employeeDto.getId());
+        logger.info("Fetched employee: {}", employeeDto);
+    }
+
+    @Benchmark
+    public void sampledIdsAtInfo() {
+        boolean sampled = sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        MDC.put(RequestLogSamplingFilter.SAMPLED_MDC_KEY, Boolean.toString(sampled));
+        try {
+            logger.info("Received request to fetch employee with ID: {}", employeeDto.getId());
+            logger.debug("Fetched employee: {}", employeeDto);
+        } finally {
+            MDC.remove(RequestLogSamplingFilter.SAMPLED_MDC_KEY);
+        }
+    }
+
+    private static class DiscardingOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
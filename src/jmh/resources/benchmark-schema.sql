@@ -0,0 +1,28 @@
+CREATE TABLE Team (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(50) NOT NULL UNIQUE,
+    isDeleted BOOLEAN DEFAULT FALSE,
+    version INT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE Employee (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    idTeam INT NOT NULL,
+    isTeamLead BOOLEAN DEFAULT FALSE,
+    version INT NOT NULL DEFAULT 0,
+    FOREIGN KEY (idTeam) REFERENCES Team(id)
+);
+
+CREATE TABLE ChangeLog (
+    seq BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity VARCHAR(16) NOT NULL,
+    entityId BIGINT NOT NULL,
+    changeType VARCHAR(16) NOT NULL,
+    version INT NULL,
+    payload VARCHAR(4096) NULL,
+    changedAt TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)
+);
+
+CREATE INDEX idxEmployeeName ON Employee (name);
+CREATE INDEX idxEmployeeTeamLead ON Employee (idTeam, isTeamLead);
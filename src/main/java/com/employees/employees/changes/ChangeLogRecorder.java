@@ -0,0 +1,131 @@
+package com.employees.employees.changes;
+
+import com.employees.employees.dto.EmployeeDto;
+import com.employees.employees.dto.TeamDto;
+import com.employees.employees.entity.Change;
+import com.employees.employees.entity.Employee;
+import com.employees.employees.entity.Team;
+import com.employees.employees.event.ChangeEntity;
+import com.employees.employees.event.EmployeeChangedEvent;
+import com.employees.employees.event.TeamChangedEvent;
+import com.employees.employees.mapper.EmployeeMapper;
+import com.employees.employees.mapper.TeamMapper;
+import com.employees.employees.repository.ChangeLogRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Appends every {@link EmployeeChangedEvent} and {@link TeamChangedEvent} to the change log that backs
+ * GET /api/changes. The listener runs synchronously inside the transaction of the write, and the
+ * changes of one transaction are inserted as a single batch right before it commits, so the log and
+ * the tables can never disagree.
+ */
+@Component
+@Profile("!reactive")
+public class ChangeLogRecorder {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLogRecorder.class);
+    private static final int PURGE_BATCH_SIZE = 10000;
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ObjectWriter employeeWriter;
+    private final ObjectWriter teamWriter;
+    private final Duration retention;
+
+    public ChangeLogRecorder(ChangeLogRepository changeLogRepository,
+                             ObjectMapper objectMapper,
+                             @Value("${employees.changes.retention:P7D}") Duration retention) {
+        this.changeLogRepository = changeLogRepository;
+        this.employeeWriter = objectMapper.writerFor(EmployeeDto.class);
+        this.teamWriter = objectMapper.writerFor(TeamDto.class);
+        this.retention = retention;
+    }
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        Employee employee = event.getEmployee();
+        String payload = employee == null ? null : json(employeeWriter, EmployeeMapper.MAPPER.mapToEmployeeDto(employee));
+        record(new Change(null, ChangeEntity.EMPLOYEE, event.getId(), event.getType(),
+                employee == null ? null : employee.getVersion(), payload, null));
+    }
+
+    @EventListener
+    public void onTeamChanged(TeamChangedEvent event) {
+        Team team = event.getTeam();
+        String payload = team == null ? null : json(teamWriter, TeamMapper.MAPPER.mapToTeamDto(team));
+        record(new Change(null, ChangeEntity.TEAM, event.getId().longValue(), event.getType(),
+                team == null ? null : team.getVersion(), payload, null));
+    }
+
+    @Scheduled(fixedDelayString = "${employees.changes.purge-interval:PT1H}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int deleted = 0;
+        try {
+            int batch;
+            do {
+                batch = changeLogRepository.deleteBefore(cutoff, PURGE_BATCH_SIZE);
+                deleted += batch;
+            } while (batch == PURGE_BATCH_SIZE);
+        } catch (DataAccessException e) {
+            logger.warn("Change log purge failed, retrying on the next run: {}", e.getMessage());
+        }
+        if (deleted > 0) {
+            logger.info("Purged {} changes older than {}", deleted, cutoff);
+        }
+    }
+
+    private void record(Change change) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            changeLogRepository.append(Collections.singletonList(change));
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.changes.add(change);
+    }
+
+    private static String json(ObjectWriter writer, Object value) {
+        try {
+            return writer.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private class PendingChanges implements TransactionSynchronization {
+        private final List<Change> changes = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            changeLogRepository.append(changes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(ChangeLogRecorder.this);
+        }
+    }
+}
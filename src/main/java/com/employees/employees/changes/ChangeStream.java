@@ -0,0 +1,376 @@
+package com.employees.employees.changes;
+
+import com.employees.employees.dto.ChangeDto;
+import com.employees.employees.dto.EmployeeDto;
+import com.employees.employees.dto.TeamDto;
+import com.employees.employees.entity.Employee;
+import com.employees.employees.entity.Team;
+import com.employees.employees.event.ChangeEntity;
+import com.employees.employees.event.ChangeType;
+import com.employees.employees.event.EmployeeChangedEvent;
+import com.employees.employees.event.TeamChangedEvent;
+import com.employees.employees.exception.ServiceUnavailableException;
+import com.employees.employees.mapper.EmployeeMapper;
+import com.employees.employees.mapper.TeamMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed employee and team changes to Server-Sent Events subscribers.
+ * <p>
+ * Every change is serialized once and offered to the matching subscribers, which only queue it;
+ * a small pool of sender threads writes to the connections. Each subscriber buffers at most
+ * buffer-size records, and a newer change of a record replaces the queued one. A subscriber whose
+ * buffer still overflows is too slow to keep up, so it is disconnected and its buffer dropped.
+ * The browser's EventSource reconnects, and GET /api/changes fills the gap.
+ * <p>
+ * Writes to a connection block while the client's TCP window is full. A subscriber whose write takes
+ * longer than write-timeout is disconnected, and the sender pool gets an extra thread until the stuck
+ * write returns or fails, so stalled browsers cannot take all sender threads away from healthy ones.
+ */
+@Component
+@Profile("!reactive")
+public class ChangeStream {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeStream.class);
+    private static final String HEARTBEAT = "heartbeat";
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter changeWriter;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final int maxSubscribers;
+    private final long writeTimeoutNanos;
+    private final Executor sender;
+    private final Counter slowDisconnects;
+    private final Counter stalledDisconnects;
+
+    @Autowired
+    public ChangeStream(ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        @Value("${employees.stream.buffer-size:256}") int bufferSize,
+                        @Value("${employees.stream.timeout:PT30M}") Duration timeout,
+                        @Value("${employees.stream.max-subscribers:10000}") int maxSubscribers,
+                        @Value("${employees.stream.write-timeout:PT5S}") Duration writeTimeout,
+                        @Value("${employees.stream.sender-threads:8}") int senderThreads) {
+        this(objectMapper, meterRegistry, bufferSize, timeout, maxSubscribers, writeTimeout, newSender(senderThreads));
+    }
+
+    public ChangeStream(ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        int bufferSize,
+                        Duration timeout,
+                        int maxSubscribers,
+                        Duration writeTimeout,
+                        Executor sender) {
+        this.objectMapper = objectMapper;
+        this.changeWriter = objectMapper.writerFor(ChangeDto.class);
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.maxSubscribers = maxSubscribers;
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        this.sender = sender;
+        Gauge.builder("employees.stream.subscribers", subscribers, Set::size)
+                .description("Open change stream connections")
+                .register(meterRegistry);
+        this.slowDisconnects = Counter.builder("employees.stream.slow.disconnects")
+                .description("Change stream subscribers disconnected because their buffer overflowed")
+                .register(meterRegistry);
+        this.stalledDisconnects = Counter.builder("employees.stream.stalled.disconnects")
+                .description("Change stream subscribers disconnected because a write did not finish within the write timeout")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Integer idTeam) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        subscribe(emitter, idTeam);
+        return emitter;
+    }
+
+    /**
+     * Streams changes to an emitter created by the caller.
+     */
+    public void subscribe(SseEmitter emitter, Integer idTeam) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Too many change stream subscribers, retry later");
+        }
+        Subscriber subscriber = new Subscriber(emitter, idTeam);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Employee employee = event.getEmployee();
+        Employee previous = event.getPrevious();
+        // A move is shown to the old and the new team. When the team before an update or delete is
+        // unknown, every filter gets the change rather than missing an employee leaving the team.
+        Set<Integer> teams = null;
+        if (event.getType() == ChangeType.CREATED || previous != null) {
+            teams = new HashSet<>(2);
+            if (employee != null) {
+                teams.add(employee.getIdTeam());
+            }
+            if (previous != null) {
+                teams.add(previous.getIdTeam());
+            }
+        }
+        EmployeeDto payload = employee == null ? null : EmployeeMapper.MAPPER.mapToEmployeeDto(employee);
+        publish(ChangeEntity.EMPLOYEE, event.getId(), event.getType(), employee == null ? null : employee.getVersion(), payload, teams);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamChanged(TeamChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Team team = event.getTeam();
+        TeamDto payload = team == null ? null : TeamMapper.MAPPER.mapToTeamDto(team);
+        publish(ChangeEntity.TEAM, event.getId().longValue(), event.getType(), team == null ? null : team.getVersion(),
+                payload, Set.of(event.getId()));
+    }
+
+    /**
+     * Keeps idle connections open through proxies and finds subscribers that went away.
+     */
+    @Scheduled(fixedDelayString = "${employees.stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        Message heartbeat = new Message(HEARTBEAT, null, null);
+        subscribers.forEach(subscriber -> subscriber.offer(heartbeat));
+    }
+
+    /**
+     * Disconnects subscribers whose current write has been blocked for longer than the write timeout.
+     */
+    @Scheduled(fixedDelayString = "${employees.stream.write-check-interval:PT1S}")
+    public void disconnectStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.abandonIfStalled(now)) {
+                logger.warn("Change stream subscriber did not accept a write within {} ms, disconnecting it",
+                        writeTimeoutNanos / 1_000_000);
+                stalledDisconnects.increment();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        if (sender instanceof ExecutorService) {
+            ((ExecutorService) sender).shutdownNow();
+        }
+    }
+
+    private void publish(ChangeEntity entity, Long id, ChangeType type, Integer version, Object payload, Set<Integer> teams) {
+        ChangeDto change = new ChangeDto();
+        change.setEntity(entity);
+        change.setEntityId(id);
+        change.setType(type);
+        change.setVersion(version);
+        change.setChangedAt(LocalDateTime.now());
+        String json;
+        try {
+            change.setPayload(payload == null ? null : objectMapper.writeValueAsString(payload));
+            json = changeWriter.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        Message message = new Message(entity + ":" + id, json, teams);
+        subscribers.forEach(subscriber -> subscriber.offer(message));
+    }
+
+    /**
+     * Grows or shrinks the sender pool by one thread for each write abandoned while it is still blocked.
+     */
+    private void resizeSender(int delta) {
+        if (!(sender instanceof ThreadPoolExecutor)) {
+            return;
+        }
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) sender;
+        synchronized (pool) {
+            // The core size may never exceed the maximum, so the order depends on the direction.
+            if (delta > 0) {
+                pool.setMaximumPoolSize(pool.getMaximumPoolSize() + delta);
+                pool.setCorePoolSize(pool.getCorePoolSize() + delta);
+            } else {
+                pool.setCorePoolSize(pool.getCorePoolSize() + delta);
+                pool.setMaximumPoolSize(pool.getMaximumPoolSize() + delta);
+            }
+        }
+    }
+
+    private static Executor newSender(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "change-stream-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static class Message {
+        private final String key;
+        private final String json;
+        private final Set<Integer> teams;
+
+        Message(String key, String json, Set<Integer> teams) {
+            this.key = key;
+            this.json = json;
+            this.teams = teams;
+        }
+
+        SseEmitter.SseEventBuilder event() {
+            return json == null
+                    ? SseEmitter.event().comment(HEARTBEAT)
+                    : SseEmitter.event().name("change").data(json, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private class Subscriber {
+        private final SseEmitter emitter;
+        private final Integer idTeam;
+        // Guarded by this. Insertion ordered, re-inserting a key moves it to the end.
+        private final LinkedHashMap<String, Message> pending = new LinkedHashMap<>();
+        private boolean scheduled;
+        private boolean closed;
+        private boolean sending;
+        private long sendStarted;
+        private boolean abandoned;
+
+        Subscriber(SseEmitter emitter, Integer idTeam) {
+            this.emitter = emitter;
+            this.idTeam = idTeam;
+        }
+
+        void offer(Message message) {
+            if (idTeam != null && message.json != null && message.teams != null && !message.teams.contains(idTeam)) {
+                return;
+            }
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                pending.remove(message.key);
+                pending.put(message.key, message);
+                if (pending.size() > bufferSize) {
+                    logger.warn("Change stream subscriber fell {} records behind, disconnecting it", pending.size());
+                    slowDisconnects.increment();
+                    closed = true;
+                    pending.clear();
+                    subscribers.remove(this);
+                }
+                if (!scheduled) {
+                    scheduled = true;
+                    sender.execute(this::drain);
+                }
+            }
+        }
+
+        void close() {
+            synchronized (this) {
+                closed = true;
+                pending.clear();
+            }
+            subscribers.remove(this);
+        }
+
+        /**
+         * Gives up on a subscriber stuck in a write. The emitter is left alone, completing it would wait
+         * for the blocked write; the sender completes it once the write returns.
+         */
+        boolean abandonIfStalled(long now) {
+            synchronized (this) {
+                if (!sending || abandoned || now - sendStarted < writeTimeoutNanos) {
+                    return false;
+                }
+                abandoned = true;
+                closed = true;
+                pending.clear();
+                resizeSender(1);
+            }
+            subscribers.remove(this);
+            return true;
+        }
+
+        private void drain() {
+            while (true) {
+                Message next;
+                synchronized (this) {
+                    if (closed) {
+                        scheduled = false;
+                        break;
+                    }
+                    Iterator<Message> iterator = pending.values().iterator();
+                    if (!iterator.hasNext()) {
+                        scheduled = false;
+                        return;
+                    }
+                    next = iterator.next();
+                    iterator.remove();
+                    sending = true;
+                    sendStarted = System.nanoTime();
+                }
+                try {
+                    emitter.send(next.event());
+                } catch (IOException | IllegalStateException e) {
+                    logger.debug("Change stream subscriber went away: {}", e.getMessage());
+                    sent();
+                    close();
+                    return;
+                }
+                sent();
+            }
+            // Completing may wait for a write in progress, so it happens here and not on the publishing thread.
+            emitter.complete();
+        }
+
+        private synchronized void sent() {
+            sending = false;
+            if (abandoned) {
+                // The extra sender thread started for this write is no longer needed.
+                resizeSender(-1);
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.employees.employees.config;
+
+import com.employees.employees.routing.ReplicaRouting;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs controller methods on a bounded worker pool instead of the Tomcat request thread
+ * (employees.execution.mode=async). The request thread is handed back as soon as the call is queued,
+ * so open connections are limited by the connector rather than by its thread pool, while
+ * {@code threads} bounds how many calls block on the database at once. A call that finds
+ * {@code queueCapacity} calls already waiting is rejected with a 503, and so is one that does not
+ * finish within {@code timeout}.
+ * <p>
+ * Handlers that are asynchronous already (streams, emitters, deferred results) keep their own execution.
+ */
+public class BoundedAsyncExecution implements WebMvcRegistrations, MeterBinder, DisposableBean {
+    private static final List<Class<?>> ASYNC_RETURN_TYPES = List.of(Callable.class, WebAsyncTask.class,
+            DeferredResult.class, ListenableFuture.class, CompletionStage.class, ResponseBodyEmitter.class,
+            StreamingResponseBody.class);
+
+    private final ThreadPoolTaskExecutor executor;
+    private final Semaphore admitted;
+    private final long timeoutMillis;
+
+    public BoundedAsyncExecution(int threads, int queueCapacity, Duration timeout) {
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("request-");
+        executor.setTaskDecorator(BoundedAsyncExecution::withRequestContext);
+        executor.initialize();
+        // Bounds the executor's queue, a call's permit is only returned once its request completed.
+        this.admitted = new Semaphore(threads + queueCapacity);
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @Override
+    public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+        return new RequestMappingHandlerAdapter() {
+            @Override
+            protected ServletInvocableHandlerMethod createInvocableHandlerMethod(HandlerMethod handlerMethod) {
+                if (isAsync(handlerMethod.getReturnType())) {
+                    return super.createInvocableHandlerMethod(handlerMethod);
+                }
+                return new ServletInvocableHandlerMethod(handlerMethod) {
+                    @Override
+                    public Object invokeForRequest(NativeWebRequest request, ModelAndViewContainer mavContainer,
+                                                   Object... providedArgs) throws Exception {
+                        // Arguments are resolved here, the request's attributes are only readable on its own thread.
+                        Object[] args = getMethodArgumentValues(request, mavContainer, providedArgs);
+                        // Admitted here rather than by the executor's rejection, which would also dispatch
+                        // the failure asynchronously and so handle it twice.
+                        if (!admitted.tryAcquire()) {
+                            throw new TaskRejectedException("Too many requests waiting for a worker thread");
+                        }
+                        WebAsyncTask<Object> task = new WebAsyncTask<>(timeoutMillis, executor, () -> doInvoke(args));
+                        task.onCompletion(admitted::release);
+                        return task;
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "employees.execution.async", Tags.empty())
+                .bindTo(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private static boolean isAsync(MethodParameter returnType) {
+        Class<?> type = returnType.getParameterType();
+        if (HttpEntity.class.isAssignableFrom(type)) {
+            type = ResolvableType.forMethodParameter(returnType).getGeneric().resolve(Object.class);
+        }
+        for (Class<?> asyncType : ASYNC_RETURN_TYPES) {
+            if (asyncType.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Carries the request's logging sample decision and read-your-writes pin over to the worker.
+     */
+    private static Runnable withRequestContext(Runnable task) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Runnable routed = ReplicaRouting.propagatePin(task);
+        return () -> {
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                routed.run();
+            } finally {
+                MDC.clear();
+            }
+        };
+    }
+}
@@ -0,0 +1,75 @@
+package com.employees.employees.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+@Configuration
+// Caching wraps the repository timers, so employees.repository only measures calls that reach the database.
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+    public static final String TEAMS = "teams";
+    public static final String TEAMS_BY_ID = "teamsById";
+    public static final String TEAMS_BY_NAME = "teamsByName";
+    public static final String EMPLOYEES = "employees";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${employees.cache.teams.maximum-size:1000}") long teamsMaximumSize,
+                                     @Value("${employees.cache.teams.ttl:5m}") Duration teamsTtl,
+                                     @Value("${employees.cache.employees.maximum-size:100000}") long employeesMaximumSize,
+                                     @Value("${employees.cache.employees.ttl:10m}") Duration employeesTtl,
+                                     @Value("${employees.cache.employees.negative-ttl:5s}") Duration employeesNegativeTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Caches are registered up front so actuator binds their hit/miss/eviction metrics at startup.
+        cacheManager.registerCustomCache(TEAMS, teamCache(1, teamsTtl));
+        cacheManager.registerCustomCache(TEAMS_BY_ID, teamCache(teamsMaximumSize, teamsTtl));
+        cacheManager.registerCustomCache(TEAMS_BY_NAME, teamCache(teamsMaximumSize, teamsTtl));
+        cacheManager.registerCustomCache(EMPLOYEES, employeeCache(employeesMaximumSize, employeesTtl, employeesNegativeTtl));
+        return cacheManager;
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> teamCache(long maximumSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Size bounded (W-TinyLFU) employee cache. Lookups of unknown ids are cached as {@link NullValue}
+     * for the much shorter negative TTL, so bursts of 404s do not reach the database while a
+     * newly created employee becomes visible quickly even on other nodes.
+     */
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> employeeCache(long maximumSize, Duration ttl, Duration negativeTtl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Object, Object>() {
+                    @Override
+                    public long expireAfterCreate(Object key, Object value, long currentTime) {
+                        return (value instanceof NullValue ? negativeTtl : ttl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+}
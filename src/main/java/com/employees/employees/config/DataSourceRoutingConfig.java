@@ -0,0 +1,98 @@
+package com.employees.employees.config;
+
+import com.employees.employees.routing.ReadWriteRoutingDataSource;
+import com.employees.employees.routing.ReadYourWritesFilter;
+import com.employees.employees.routing.ReplicaReadAspect;
+import com.employees.employees.routing.ReplicaRouting;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Opt-in read replica (employees.datasource.replica.url). Both pools live inside one routing DataSource
+ * bean, so the rest of the application, the limiter and the actuator still see a single datasource.
+ * Writes, transactions and the change log use the primary, {@link com.employees.employees.routing.ReplicaRead}
+ * methods use the replica outside the read-your-writes window.
+ */
+@Configuration
+@Profile("!reactive & !memory")
+@ConditionalOnProperty(name = "employees.datasource.replica.url")
+public class DataSourceRoutingConfig {
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceRoutingConfig.class);
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("employees");
+        }
+
+        String url = environment.getRequiredProperty("employees.datasource.replica.url");
+        HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                .url(url)
+                .username(environment.getProperty("employees.datasource.replica.username", primary.getUsername()))
+                .password(environment.getProperty("employees.datasource.replica.password", primary.getPassword()))
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+        binder.bind("employees.datasource.replica.hikari", Bindable.ofInstance(replica));
+        replica.setJdbcUrl(url);
+        replica.setPoolName(primary.getPoolName() + "-replica");
+        replica.setReadOnly(true);
+        logger.info("Routing replica reads to {}", url);
+        return new ReadWriteRoutingDataSource(primary, replica);
+    }
+
+    /**
+     * Pool metrics for both pools, tagged with their pool names. Boot only binds them for a plain Hikari
+     * datasource bean.
+     */
+    @Bean
+    public MeterBinder replicaRoutingPoolMetrics(DataSource dataSource) {
+        return registry -> {
+            try {
+                ReadWriteRoutingDataSource routing = dataSource.unwrap(ReadWriteRoutingDataSource.class);
+                MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(registry);
+                for (DataSource pool : List.of(routing.getPrimary(), routing.getReplica())) {
+                    if (pool instanceof HikariDataSource) {
+                        ((HikariDataSource) pool).setMetricsTrackerFactory(metrics);
+                    }
+                }
+            } catch (SQLException e) {
+                logger.warn("Could not bind connection pool metrics: {}", e.getMessage());
+            }
+        };
+    }
+
+    @Bean
+    public ReplicaRouting replicaRouting(@Value("${employees.datasource.replica.read-your-writes:PT5S}") Duration readYourWrites) {
+        return new ReplicaRouting(readYourWrites);
+    }
+
+    @Bean
+    public ReplicaReadAspect replicaReadAspect(ReplicaRouting replicaRouting) {
+        return new ReplicaReadAspect(replicaRouting);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaRouting replicaRouting) {
+        return new ReadYourWritesFilter(replicaRouting);
+    }
+}
@@ -0,0 +1,71 @@
+package com.employees.employees.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Opt-in request execution settings: controller calls on a bounded worker pool instead of Tomcat's
+ * request threads (employees.execution.mode=async, see {@link BoundedAsyncExecution}) and a
+ * concurrency limiter in front of the datasource (employees.datasource.limiter.*), so a large number
+ * of requests does not just pile up waiting in the connection pool.
+ */
+@Configuration
+public class ExecutionConfig {
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(name = "employees.execution.mode", havingValue = "async")
+    public BoundedAsyncExecution boundedAsyncExecution(
+            @Value("${employees.execution.async.threads:50}") int threads,
+            @Value("${employees.execution.async.queue-capacity:1000}") int queueCapacity,
+            @Value("${employees.execution.async.timeout:10s}") Duration timeout) {
+        return new BoundedAsyncExecution(threads, queueCapacity, timeout);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "employees.datasource.limiter.enabled", havingValue = "true")
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(
+            @Value("${employees.datasource.limiter.max-concurrency:20}") int maxConcurrency,
+            @Value("${employees.datasource.limiter.max-waiting:200}") int maxWaiting,
+            @Value("${employees.datasource.limiter.acquire-timeout:2s}") Duration acquireTimeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof ConcurrencyLimitingDataSource)) {
+                    return new ConcurrencyLimitingDataSource((DataSource) bean, maxConcurrency, maxWaiting, acquireTimeout.toMillis());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "employees.datasource.limiter.enabled", havingValue = "true")
+    public MeterBinder concurrencyLimitingDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            if (!(dataSource instanceof ConcurrencyLimitingDataSource)) {
+                return;
+            }
+            ConcurrencyLimitingDataSource limiter = (ConcurrencyLimitingDataSource) dataSource;
+            Gauge.builder("employees.datasource.limiter.active", limiter, ConcurrencyLimitingDataSource::getActive)
+                    .description("Requests holding a database connection permit")
+                    .register(registry);
+            Gauge.builder("employees.datasource.limiter.waiting", limiter, ConcurrencyLimitingDataSource::getWaiting)
+                    .description("Requests waiting for a database connection permit")
+                    .register(registry);
+            FunctionCounter.builder("employees.datasource.limiter.rejected", limiter, ConcurrencyLimitingDataSource::getRejected)
+                    .description("Requests rejected because too many were waiting or the wait timed out")
+                    .register(registry);
+        };
+    }
+
+}
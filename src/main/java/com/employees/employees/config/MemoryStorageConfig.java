@@ -0,0 +1,20 @@
+package com.employees.employees.config;
+
+import com.employees.employees.memory.MemoryTransactionManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * The "memory" profile keeps employees and teams in {@link com.employees.employees.memory.InMemoryStore}
+ * instead of MySQL, for running and load testing the application without a database.
+ */
+@Configuration
+@Profile("memory")
+public class MemoryStorageConfig {
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return new MemoryTransactionManager();
+    }
+}
@@ -0,0 +1,21 @@
+package com.employees.employees.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+    public static final String REPOSITORY_TIMER = "employees.repository";
+    public static final String REPOSITORY_ROWS = "employees.repository.rows";
+    public static final String EXCEPTIONS = "employees.exceptions";
+
+    /**
+     * Enables {@code @Timed} on Spring beans, the repositories use it to time every statement.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,75 @@
+package com.employees.employees.controller;
+
+import com.employees.employees.dto.ChangesDto;
+import com.employees.employees.service.ChangeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/changes")
+public class ChangeController {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeController.class);
+
+    private final ChangeService changeService;
+
+    public ChangeController(ChangeService changeService) {
+        this.changeService = changeService;
+    }
+
+    @Operation(
+            summary = "Get changes",
+            description = "Get employee and team changes recorded after 'since', oldest first. Start with since=0, then pass nextSince of the previous response. " +
+                    "Poll again right away while hasMore is true, otherwise after a pause."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Get succeed."
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Get failed : since is negative."
+    )
+    @GetMapping
+    public ResponseEntity<ChangesDto> getChanges(
+            @Parameter(description = "Return changes with a sequence number greater than this one. 0 by default.")
+            @RequestParam(required = false) Long since,
+            @Parameter(description = "Maximum number of changes, 100 by default and at most 1000.")
+            @RequestParam(required = false) Integer limit) {
+        logger.info("Received request to fetch changes since: {}, limit: {}", since, limit);
+        ChangesDto changes = changeService.getChanges(since, limit);
+        logger.info("Fetched {} changes, next since: {}.", changes.getChanges().size(), changes.getNextSince());
+        return new ResponseEntity<>(changes, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Stream changes",
+            description = "Server-Sent Events stream of employee and team changes as they are committed, one 'change' event per change. " +
+                    "Repeated changes of a record that were not sent yet are collapsed into the latest one. " +
+                    "A client that falls too far behind is disconnected, catch up with GET /api/changes after reconnecting."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Stream opened."
+    )
+    @ApiResponse(
+            responseCode = "503",
+            description = "Stream refused : Too many open streams."
+    )
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @Parameter(description = "Only send changes of this team and of employees moving in or out of it.")
+            @RequestParam(required = false) Integer idTeam) {
+        logger.info("Received request to stream changes, team: {}", idTeam);
+        return changeService.subscribe(idTeam);
+    }
+}
@@ -0,0 +1,85 @@
+package com.employees.employees.controller;
+
+import com.employees.employees.dto.EmployeeDto;
+import com.employees.employees.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Strong ETags for the read endpoints. A single resource uses its row version; a collection hashes the
+ * tag of every element, so adding, removing or updating any of them changes the tag.
+ * <p>
+ * Employee ids are chosen by clients, and an employee that is deleted and created again starts over at
+ * version 0. Its tag therefore also carries a hash of the content, so the new record does not
+ * revalidate against a tag of the old one.
+ */
+final class ETags {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ETags() {
+    }
+
+    static String of(Object id, Integer version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    static String of(EmployeeDto employee) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = mix(hash, String.valueOf(employee.getName()));
+        hash = mix(hash, String.valueOf(employee.getIsTeamLead()));
+        hash = mix(hash, String.valueOf(employee.getIdTeam()));
+        return "\"" + employee.getId() + "-" + employee.getVersion() + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Expected version carried by an If-Match header, or null when the header is absent or "*". A content
+     * hash after the version is ignored, the write itself is guarded by the version.
+     */
+    static Integer expectedVersion(Object id, String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        String prefix = "\"" + id + "-";
+        if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+            String version = tag.substring(prefix.length(), tag.length() - 1);
+            int hash = version.indexOf('-');
+            try {
+                return Integer.valueOf(hash < 0 ? version : version.substring(0, hash));
+            } catch (NumberFormatException e) {
+                // fall through to the error below
+            }
+        }
+        throw new InvalidRequestException(String.format("If-Match %s is not an ETag of record %s", ifMatch, id));
+    }
+
+    static <T> String of(Collection<T> items, Function<T, String> tag, long salt) {
+        long hash = FNV_OFFSET_BASIS;
+        for (T item : items) {
+            hash = mix(hash, tag.apply(item));
+        }
+        hash = mix(hash, items.size());
+        hash = mix(hash, salt);
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    private static long mix(long hash, String value) {
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        // Length suffix, so consecutive values cannot shift into each other.
+        return mix(hash, value.length());
+    }
+
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -1,28 +1,55 @@
 package com.employees.employees.controller;
 
+import com.employees.employees.dto.EmployeeBatchDto;
+import com.employees.employees.dto.EmployeeBatchResultDto;
 import com.employees.employees.dto.EmployeeDto;
+import com.employees.employees.dto.EmployeeIdsDto;
+import com.employees.employees.dto.EmployeePatchDto;
+import com.employees.employees.dto.EmployeesByIdsDto;
+import com.employees.employees.dto.PageDto;
 import com.employees.employees.exception.UpdateFailedException;
+import com.employees.employees.search.SearchMode;
 import com.employees.employees.service.EmployeeService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/employees")
 public class EmployeeController {
     private static final Logger logger = LoggerFactory.getLogger(EmployeeController.class);
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
     private final EmployeeService employeeService;
+    private final ObjectWriter employeeWriter;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, ObjectMapper objectMapper) {
         this.employeeService = employeeService;
+        this.employeeWriter = objectMapper.writerFor(EmployeeDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @Operation(
@@ -43,36 +70,143 @@ public class EmployeeController {
     )
     @PostMapping
     public ResponseEntity<EmployeeDto> createEmployee(@Valid @RequestBody EmployeeDto employeeDto) {
-        logger.info("Received request to create a new employee: {}", employeeDto);
+        logger.info("Received request to create a new employee with ID: {}", employeeDto.getId());
+        logger.debug("Create employee payload: {}", employeeDto);
         EmployeeDto saved = employeeService.create(employeeDto);
         logger.info("Employee created successfully with ID: {}", saved.getId());
         return new ResponseEntity<>(saved, HttpStatus.CREATED);
     }
 
+    @Operation(
+            summary = "Create employees in bulk",
+            description = "Creates up to 5000 employees in one transaction and reports the outcome for each of them."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Batch processed, see results for the outcome of each employee."
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Batch rejected : Payload is invalid."
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<EmployeeBatchResultDto> createEmployees(@Valid @RequestBody EmployeeBatchDto employeeBatchDto) {
+        logger.info("Received request to create {} employees.", employeeBatchDto.getEmployees().size());
+        EmployeeBatchResultDto result = employeeService.createAll(employeeBatchDto.getEmployees());
+        logger.info("Batch create completed. Created {}, rejected {}.", result.getCreated(), result.getRejected());
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     @Operation(
             summary = "Get all employees",
-            description = "Get all employees from the database."
+            description = "Get employees page by page, ordered by id. Pass nextCursor of the previous page as 'after' to fetch the next one. "
+                    + "Send the returned ETag as If-None-Match to revalidate a page."
     )
     @ApiResponse(
             responseCode = "200",
             description = "Get succeed."
     )
+    @ApiResponse(
+            responseCode = "304",
+            description = "Page did not change since the ETag sent in If-None-Match. The page is still read to compare it, "
+                    + "a 304 only saves sending and serializing the body."
+    )
     @GetMapping
-    public ResponseEntity<List<EmployeeDto>> getAll() {
-        logger.info("Received request to fetch all employees.");
-        List<EmployeeDto> employees = employeeService.getAll();
-        logger.info("Fetched {} employees from the database.", employees.size());
+    public ResponseEntity<PageDto<EmployeeDto>> getAll(
+            @Parameter(description = "Return employees with id greater than this cursor.")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Page size, 100 by default and at most 1000.")
+            @RequestParam(required = false) Integer limit) {
+        logger.info("Received request to fetch employees after: {}, limit: {}", after, limit);
+        PageDto<EmployeeDto> page = employeeService.getPage(after, limit);
+        logger.info("Fetched {} employees from the database.", page.getItems().size());
+        // Derived from the rows themselves: no cheaper value tells whether a page changed, the change
+        // log can commit out of order.
+        String eTag = ETags.of(page.getItems(), ETags::of,
+                page.getNextCursor() == null ? -1 : page.getNextCursor());
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(page);
+    }
+
+    @Operation(
+            summary = "Export all employees",
+            description = "Stream every employee as newline-delimited JSON, one employee per line, as rows are read from the database."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Export started."
+    )
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> export() {
+        logger.info("Received request to export all employees.");
+        StreamingResponseBody body = responseStream -> {
+            OutputStream outputStream = new BufferedOutputStream(responseStream, EXPORT_BUFFER_SIZE);
+            employeeService.export(employeeDto -> {
+                try {
+                    employeeWriter.writeValue(outputStream, employeeDto);
+                    outputStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            outputStream.flush();
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    @Operation(
+            summary = "Get employees by ids",
+            description = "Get up to 5000 employees in one call, e.g. ?ids=1,2,3. Ids without an employee are listed in missing instead of failing the request."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Get succeed."
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Get failed : More than 5000 ids."
+    )
+    @GetMapping("/by-ids")
+    public ResponseEntity<EmployeesByIdsDto> getByIds(
+            @Parameter(description = "Employee ids, comma separated or repeated.", required = true)
+            @RequestParam("ids") List<Long> ids) {
+        logger.info("Received request to fetch {} employees by id.", ids.size());
+        EmployeesByIdsDto employees = employeeService.getByIds(ids);
+        logger.info("Fetched {} employees, {} ids missing.", employees.getFound().size(), employees.getMissing().size());
+        return new ResponseEntity<>(employees, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Get employees by ids",
+            description = "Same as GET /by-ids with the ids in the request body, for id lists that do not fit in a URL."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Get succeed."
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Get failed : Ids are empty or more than 5000."
+    )
+    @PostMapping("/by-ids")
+    public ResponseEntity<EmployeesByIdsDto> getByIds(@Valid @RequestBody EmployeeIdsDto employeeIdsDto) {
+        logger.info("Received request to fetch {} employees by id.", employeeIdsDto.getIds().size());
+        EmployeesByIdsDto employees = employeeService.getByIds(employeeIdsDto.getIds());
+        logger.info("Fetched {} employees, {} ids missing.", employees.getFound().size(), employees.getMissing().size());
         return new ResponseEntity<>(employees, HttpStatus.OK);
     }
 
     @Operation(
             summary = "Get employee by id",
-            description = "Get employee by id from the database."
+            description = "Get employee by id from the database. Send the returned ETag as If-None-Match to revalidate."
     )
     @ApiResponse(
             responseCode = "200",
             description = "Get succeed."
     )
+    @ApiResponse(
+            responseCode = "304",
+            description = "Employee did not change since the ETag sent in If-None-Match."
+    )
     @ApiResponse(
             responseCode = "404",
             description = "Get failed - Employee with this id does not exists."
@@ -83,8 +217,11 @@ public class EmployeeController {
             @PathVariable("id") Long id) {
         logger.info("Received request to fetch employee with ID: {}", id);
         EmployeeDto employeeDto = employeeService.getById(id);
-        logger.info("Fetched employee: {}", employeeDto);
-        return new ResponseEntity<>(employeeDto, HttpStatus.OK);
+        logger.debug("Fetched employee: {}", employeeDto);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(employeeDto))
+                .cacheControl(CacheControl.noCache())
+                .body(employeeDto);
     }
 
     @Operation(
@@ -103,16 +240,66 @@ public class EmployeeController {
             responseCode = "404",
             description = "Updated failed - Employee id does not exists."
     )
+    @ApiResponse(
+            responseCode = "409",
+            description = "Update failed - Employee was modified since the version sent in If-Match or in the body."
+    )
     @PutMapping("/{id}")
-    public ResponseEntity<EmployeeDto> updateEmployee(@PathVariable("id") Long id, @Valid @RequestBody EmployeeDto employeeDto) {
-        logger.info("Received request to update employee with ID: {}. Payload: {}", id, employeeDto);
+    public ResponseEntity<EmployeeDto> updateEmployee(
+            @PathVariable("id") Long id,
+            @Parameter(description = "ETag of the version being replaced. Takes precedence over version in the body.")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody EmployeeDto employeeDto) {
+        logger.info("Received request to update employee with ID: {}", id);
+        logger.debug("Update employee payload: {}", employeeDto);
         if (employeeDto.getId() != null && !id.equals(employeeDto.getId())) {
             logger.error("ID in URL ({}) does not match ID in request body ({}).", id, employeeDto.getId());
             throw new UpdateFailedException("ID in URL does not match ID in the request body");
         }
+        Integer expectedVersion = ETags.expectedVersion(id, ifMatch);
+        if (expectedVersion != null) {
+            employeeDto.setVersion(expectedVersion);
+        }
         EmployeeDto updated = employeeService.update(id, employeeDto);
         logger.info("Employee updated successfully with ID: {}", updated.getId());
-        return new ResponseEntity<>(updated, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(ETags.of(updated)).body(updated);
+    }
+
+    @Operation(
+            summary = "Partially update employee",
+            description = "Change only the supplied fields of an employee, e.g. {\"idTeam\": 2} to move them to another team. Omitted fields keep their value."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Update succeed."
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Update failed - No field to change or invalid value."
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Update failed - Employee or team id does not exists."
+    )
+    @ApiResponse(
+            responseCode = "409",
+            description = "Update failed - Employee was modified since the version sent in If-Match or in the body."
+    )
+    @PatchMapping("/{id}")
+    public ResponseEntity<EmployeeDto> patchEmployee(
+            @PathVariable("id") Long id,
+            @Parameter(description = "ETag of the version being changed. Takes precedence over version in the body.")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody EmployeePatchDto employeePatchDto) {
+        logger.info("Received request to patch employee with ID: {}", id);
+        logger.debug("Patch employee payload: {}", employeePatchDto);
+        Integer expectedVersion = ETags.expectedVersion(id, ifMatch);
+        if (expectedVersion != null) {
+            employeePatchDto.setVersion(expectedVersion);
+        }
+        EmployeeDto patched = employeeService.patch(id, employeePatchDto);
+        logger.info("Employee patched successfully with ID: {}", patched.getId());
+        return ResponseEntity.ok().eTag(ETags.of(patched)).body(patched);
     }
 
     @Operation(
@@ -147,10 +334,12 @@ public class EmployeeController {
     public ResponseEntity<List<EmployeeDto>> search(
                                                 @RequestParam(required = false) Long id,
                                                 @RequestParam(required = false) String name,
+                                                @Parameter(description = "How name is matched: CONTAINS (default), PREFIX or TOKEN (every word is a word prefix). PREFIX and TOKEN use indexes.")
+                                                @RequestParam(required = false, defaultValue = "CONTAINS") SearchMode mode,
                                                 @RequestParam(required = false) Boolean isTeamLead,
                                                 @RequestParam(required = false) Integer idTeam) {
-        logger.info("Received search request with parameters: id={}, name={}, isTeamLead={}, idTeam={}", id, name, isTeamLead, idTeam);
-        List<EmployeeDto> employees = employeeService.search(id, name, isTeamLead, idTeam);
+        logger.info("Received search request with parameters: id={}, name={}, mode={}, isTeamLead={}, idTeam={}", id, name, mode, isTeamLead, idTeam);
+        List<EmployeeDto> employees = employeeService.search(id, name, mode, isTeamLead, idTeam);
         logger.info("Search completed. Found {} employees.", employees.size());
         return new ResponseEntity<>(employees , HttpStatus.OK);
     }
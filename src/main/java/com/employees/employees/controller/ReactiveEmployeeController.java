@@ -0,0 +1,135 @@
+package com.employees.employees.controller;
+
+import com.employees.employees.dto.EmployeeBatchDto;
+import com.employees.employees.dto.EmployeeBatchResultDto;
+import com.employees.employees.dto.EmployeeDto;
+import com.employees.employees.dto.PageDto;
+import com.employees.employees.exception.InvalidRequestException;
+import com.employees.employees.exception.UpdateFailedException;
+import com.employees.employees.search.SearchMode;
+import com.employees.employees.service.ReactiveEmployeeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+
+/**
+ * WebFlux variant of {@link EmployeeController}, active with the "reactive" profile. Collections are
+ * written as they are read from the database, as a JSON array or as newline-delimited JSON, and the
+ * database is only asked for more rows as fast as the client reads them.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/employees")
+public class ReactiveEmployeeController {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveEmployeeController.class);
+    private final ReactiveEmployeeService employeeService;
+
+    public ReactiveEmployeeController(ReactiveEmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @Operation(summary = "Create a new employee")
+    @PostMapping
+    public Mono<ResponseEntity<EmployeeDto>> createEmployee(@Valid @RequestBody EmployeeDto employeeDto) {
+        logger.info("Received request to create a new employee with ID: {}", employeeDto.getId());
+        logger.debug("Create employee payload: {}", employeeDto);
+        return employeeService.create(employeeDto)
+                .doOnNext(saved -> logger.info("Employee created successfully with ID: {}", saved.getId()))
+                .map(saved -> new ResponseEntity<>(saved, HttpStatus.CREATED));
+    }
+
+    @Operation(summary = "Create employees in bulk")
+    @PostMapping("/batch")
+    public Mono<EmployeeBatchResultDto> createEmployees(@Valid @RequestBody EmployeeBatchDto employeeBatchDto) {
+        logger.info("Received request to create {} employees.", employeeBatchDto.getEmployees().size());
+        return employeeService.createAll(employeeBatchDto.getEmployees())
+                .doOnNext(result -> logger.info("Batch create completed. Created {}, rejected {}.", result.getCreated(), result.getRejected()));
+    }
+
+    @Operation(summary = "Get all employees", description = "Get employees page by page, ordered by id.")
+    @GetMapping
+    public Mono<PageDto<EmployeeDto>> getAll(
+            @Parameter(description = "Return employees with id greater than this cursor.")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Page size, 100 by default and at most 1000.")
+            @RequestParam(required = false) Integer limit) {
+        logger.info("Received request to fetch employees after: {}, limit: {}", after, limit);
+        return employeeService.getPage(after, limit);
+    }
+
+    @Operation(summary = "Export all employees", description = "Stream every employee, ordered by id.")
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, "application/x-ndjson", MediaType.APPLICATION_JSON_VALUE})
+    public Flux<EmployeeDto> export() {
+        logger.info("Received request to export all employees.");
+        return employeeService.getAll();
+    }
+
+    @Operation(summary = "Get employee by id")
+    @GetMapping("/{id}")
+    public Mono<EmployeeDto> getById(
+            @Parameter(description = "Employee id", required = true)
+            @PathVariable("id") Long id) {
+        logger.info("Received request to fetch employee with ID: {}", id);
+        return employeeService.getById(id)
+                .doOnNext(employeeDto -> logger.debug("Fetched employee: {}", employeeDto));
+    }
+
+    @Operation(summary = "Update employee")
+    @PutMapping("/{id}")
+    public Mono<EmployeeDto> updateEmployee(
+            @PathVariable("id") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody EmployeeDto employeeDto) {
+        logger.info("Received request to update employee with ID: {}", id);
+        logger.debug("Update employee payload: {}", employeeDto);
+        if (employeeDto.getId() != null && !id.equals(employeeDto.getId())) {
+            logger.error("ID in URL ({}) does not match ID in request body ({}).", id, employeeDto.getId());
+            return Mono.error(new UpdateFailedException("ID in URL does not match ID in the request body"));
+        }
+        Integer expectedVersion;
+        try {
+            expectedVersion = ETags.expectedVersion(id, ifMatch);
+        } catch (InvalidRequestException e) {
+            return Mono.error(e);
+        }
+        if (expectedVersion != null) {
+            employeeDto.setVersion(expectedVersion);
+        }
+        return employeeService.update(id, employeeDto)
+                .doOnNext(updated -> logger.info("Employee updated successfully with ID: {}", updated.getId()));
+    }
+
+    @Operation(summary = "Delete employee")
+    @DeleteMapping("/{id}")
+    public Mono<String> deleteEmployee(@PathVariable("id") Long id) {
+        logger.info("Received request to delete employee with ID: {}", id);
+        return employeeService.delete(id)
+                .then(Mono.fromSupplier(() -> {
+                    logger.info("Employee with ID: {} deleted successfully.", id);
+                    return "User successfully deleted";
+                }));
+    }
+
+    @Operation(summary = "Search employees", description = "Search employees by multiple optional filters.")
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, "application/x-ndjson"})
+    public Flux<EmployeeDto> search(@RequestParam(required = false) Long id,
+                                    @RequestParam(required = false) String name,
+                                    @Parameter(description = "How name is matched: CONTAINS (default), PREFIX or TOKEN.")
+                                    @RequestParam(required = false, defaultValue = "CONTAINS") SearchMode mode,
+                                    @RequestParam(required = false) Boolean isTeamLead,
+                                    @RequestParam(required = false) Integer idTeam) {
+        logger.info("Received search request with parameters: id={}, name={}, mode={}, isTeamLead={}, idTeam={}", id, name, mode, isTeamLead, idTeam);
+        return employeeService.search(id, name, mode, isTeamLead, idTeam);
+    }
+}
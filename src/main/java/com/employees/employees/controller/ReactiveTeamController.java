@@ -0,0 +1,115 @@
+package com.employees.employees.controller;
+
+import com.employees.employees.dto.TeamDto;
+import com.employees.employees.exception.InvalidRequestException;
+import com.employees.employees.exception.UpdateFailedException;
+import com.employees.employees.search.SearchMode;
+import com.employees.employees.service.ReactiveTeamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+
+/**
+ * WebFlux variant of {@link TeamController}, active with the "reactive" profile.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/teams")
+public class ReactiveTeamController {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveTeamController.class);
+
+    private final ReactiveTeamService teamService;
+
+    public ReactiveTeamController(ReactiveTeamService teamService) {
+        this.teamService = teamService;
+    }
+
+    @Operation(summary = "Create a new team")
+    @PostMapping
+    public Mono<ResponseEntity<TeamDto>> create(@Valid @RequestBody TeamDto teamDto) {
+        logger.info("Received request to create a new team with name: {}", teamDto.getName());
+        return teamService.create(teamDto.getName())
+                .doOnNext(saved -> logger.info("Team created successfully with ID: {}", saved.getId()))
+                .map(saved -> new ResponseEntity<>(saved, HttpStatus.CREATED));
+    }
+
+    @Operation(summary = "Get all teams")
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, "application/x-ndjson"})
+    public Flux<TeamDto> getAll() {
+        logger.info("Received request to fetch all teams.");
+        return teamService.getAll();
+    }
+
+    @Operation(summary = "Get team by id")
+    @GetMapping("/{id}")
+    public Mono<TeamDto> getById(
+            @Parameter(description = "Team id", required = true)
+            @PathVariable("id") Integer id) {
+        logger.info("Received request to fetch team with ID: {}", id);
+        return teamService.getById(id)
+                .doOnNext(team -> logger.debug("Fetched team: {}", team));
+    }
+
+    @Operation(summary = "Update team")
+    @PutMapping("/{id}")
+    public Mono<TeamDto> update(
+            @Parameter(description = "Id of team that is going to be updated.", required = true)
+            @PathVariable("id") Integer id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody TeamDto teamDto) {
+        logger.info("Received request to update team with ID: {}", id);
+        logger.debug("Update team payload: {}", teamDto);
+        if (teamDto.getId() != null && !id.equals(teamDto.getId())) {
+            logger.error("ID in URL ({}) does not match ID in request body ({}).", id, teamDto.getId());
+            return Mono.error(new UpdateFailedException("ID in URL does not match ID in the request body"));
+        }
+        Integer expectedVersion;
+        try {
+            expectedVersion = ETags.expectedVersion(id, ifMatch);
+        } catch (InvalidRequestException e) {
+            return Mono.error(e);
+        }
+        if (expectedVersion != null) {
+            teamDto.setVersion(expectedVersion);
+        }
+        return teamService.update(id, teamDto)
+                .doOnNext(updated -> logger.info("Team updated successfully with ID: {}", updated.getId()));
+    }
+
+    @Operation(summary = "Delete team")
+    @DeleteMapping("/{id}")
+    public Mono<String> delete(
+            @Parameter(description = "Id of team that is going to be deleted.", required = true)
+            @PathVariable("id") Integer id) {
+        logger.info("Received request to delete team with ID: {}", id);
+        return teamService.delete(id)
+                .then(Mono.fromSupplier(() -> {
+                    logger.info("Team with ID: {} deleted successfully.", id);
+                    return "User successfully deleted";
+                }));
+    }
+
+    @Operation(summary = "Search teams", description = "Search teams by multiple optional filters.")
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, "application/x-ndjson"})
+    public Flux<TeamDto> search(
+            @Parameter(description = "Team id.")
+            @RequestParam(required = false) Integer id,
+            @Parameter(description = "Team name.")
+            @RequestParam(required = false) String name,
+            @Parameter(description = "How name is matched: CONTAINS (default), PREFIX or TOKEN.")
+            @RequestParam(required = false, defaultValue = "CONTAINS") SearchMode mode) {
+        logger.info("Received search request with parameters: id={}, name={}, mode={}", id, name, mode);
+        return teamService.search(id, name, mode);
+    }
+}
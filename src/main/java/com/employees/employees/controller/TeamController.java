@@ -1,13 +1,19 @@
 package com.employees.employees.controller;
 
 import com.employees.employees.dto.TeamDto;
+import com.employees.employees.dto.TeamStatsDto;
+import com.employees.employees.dto.TeamWithMembersDto;
 import com.employees.employees.exception.UpdateFailedException;
+import com.employees.employees.search.SearchMode;
 import com.employees.employees.service.TeamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +22,7 @@ import javax.validation.Valid;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/teams")
 public class TeamController {
     private static final Logger logger = LoggerFactory.getLogger(TeamController.class);
@@ -40,7 +47,7 @@ public class TeamController {
     )
     @PostMapping
     public ResponseEntity<TeamDto> create(@Valid @RequestBody TeamDto teamDto) {
-        logger.info("Received request to create a new team: {}", teamDto);
+        logger.info("Received request to create a new team with name: {}", teamDto.getName());
         TeamDto saved = teamService.create(teamDto.getName());
         logger.info("Team created successfully with ID: {}", saved.getId());
         return new ResponseEntity<>(saved, HttpStatus.CREATED);
@@ -48,28 +55,37 @@ public class TeamController {
 
     @Operation(
             summary = "Get all teams",
-            description = "Get all teams from the database."
+            description = "Get all teams from the database. Send the returned ETag as If-None-Match to revalidate."
     )
     @ApiResponse(
             responseCode = "200",
             description = "Get succeed."
     )
+    @ApiResponse(
+            responseCode = "304",
+            description = "No team changed since the ETag sent in If-None-Match."
+    )
     @GetMapping()
     public ResponseEntity<List<TeamDto>> getAll() {
         logger.info("Received request to fetch all teams.");
         List<TeamDto> teams = teamService.getAll();
         logger.info("Fetched {} teams from the database.", teams.size());
-        return new ResponseEntity<>(teams, HttpStatus.OK);
+        String eTag = ETags.of(teams, team -> ETags.of(team.getId(), team.getVersion()), 0);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(teams);
     }
 
     @Operation(
             summary = "Get team by id",
-            description = "Get team by id from the database."
+            description = "Get team by id from the database. Send the returned ETag as If-None-Match to revalidate."
     )
     @ApiResponse(
             responseCode = "200",
             description = "Get succeed."
     )
+    @ApiResponse(
+            responseCode = "304",
+            description = "Team did not change since the ETag sent in If-None-Match."
+    )
     @ApiResponse(
             responseCode = "404",
             description = "Get failed - Employee with this id does not exists."
@@ -80,9 +96,96 @@ public class TeamController {
             @PathVariable("id") Integer id) {
         logger.info("Received request to fetch team with ID: {}", id);
         TeamDto team = teamService.getById(id);
-        logger.info("Fetched team: {}", team);
+        logger.debug("Fetched team: {}", team);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(team.getId(), team.getVersion()))
+                .cacheControl(CacheControl.noCache())
+                .body(team);
+    }
+    @Operation(
+            summary = "Get team with its members",
+            description = "Get a team together with all of its employees and its team lead, loaded in one query."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Get succeed."
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Get failed - Team with this id does not exists."
+    )
+    @GetMapping("/{id}/members")
+    public ResponseEntity<TeamWithMembersDto> getWithMembers(
+            @Parameter(description = "Team id", required = true)
+            @PathVariable("id") Integer id) {
+        logger.info("Received request to fetch team with members, team ID: {}", id);
+        TeamWithMembersDto team = teamService.getWithMembers(id);
+        logger.info("Fetched team {} with {} members.", id, team.getMembers().size());
         return new ResponseEntity<>(team, HttpStatus.OK);
     }
+
+    @Operation(
+            summary = "Get all teams with their members",
+            description = "Get the whole org chart, every team with its employees and team lead, loaded in one query."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Get succeed."
+    )
+    @GetMapping("/with-members")
+    public ResponseEntity<List<TeamWithMembersDto>> getAllWithMembers() {
+        logger.info("Received request to fetch all teams with members.");
+        List<TeamWithMembersDto> teams = teamService.getAllWithMembers();
+        logger.info("Fetched {} teams with members.", teams.size());
+        return new ResponseEntity<>(teams, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Get statistics of all teams",
+            description = "Headcount, number of team leads and last modification of every team, served from memory."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Get succeed."
+    )
+    @ApiResponse(
+            responseCode = "503",
+            description = "Get failed - Statistics are not loaded yet."
+    )
+    @GetMapping("/stats")
+    public ResponseEntity<List<TeamStatsDto>> getAllStats() {
+        logger.info("Received request to fetch statistics of all teams.");
+        List<TeamStatsDto> stats = teamService.getAllStats();
+        logger.info("Fetched statistics of {} teams.", stats.size());
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Get team statistics",
+            description = "Headcount, number of team leads and last modification of a team, served from memory."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Get succeed."
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Get failed - Team with this id does not exists."
+    )
+    @ApiResponse(
+            responseCode = "503",
+            description = "Get failed - Statistics are not loaded yet."
+    )
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<TeamStatsDto> getStats(
+            @Parameter(description = "Team id", required = true)
+            @PathVariable("id") Integer id) {
+        logger.info("Received request to fetch statistics of team with ID: {}", id);
+        TeamStatsDto stats = teamService.getStats(id);
+        logger.debug("Fetched team statistics: {}", stats);
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+
     @Operation(
             summary = "Update team",
             description = "Update particular team in the database."
@@ -99,19 +202,30 @@ public class TeamController {
             responseCode = "404",
             description = "Updated failed - Team id does not exists ."
     )
+    @ApiResponse(
+            responseCode = "409",
+            description = "Update failed - Team was modified since the version sent in If-Match or in the body."
+    )
     @PutMapping("/{id}")
     public ResponseEntity<TeamDto> update(
             @Parameter(description = "Id of team that is going to be updated.", required = true)
             @PathVariable("id") Integer id,
+            @Parameter(description = "ETag of the version being replaced. Takes precedence over version in the body.")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody TeamDto teamDto) {
-        logger.info("Received request to update team with ID: {}. Payload: {}", id, teamDto);
+        logger.info("Received request to update team with ID: {}", id);
+        logger.debug("Update team payload: {}", teamDto);
         if (teamDto.getId() != null && !id.equals(teamDto.getId())) {
             logger.error("ID in URL ({}) does not match ID in request body ({}).", id, teamDto.getId());
             throw new UpdateFailedException("ID in URL does not match ID in the request body");
         }
+        Integer expectedVersion = ETags.expectedVersion(id, ifMatch);
+        if (expectedVersion != null) {
+            teamDto.setVersion(expectedVersion);
+        }
         TeamDto updated = teamService.update(id, teamDto);
         logger.info("Team updated successfully with ID: {}", updated.getId());
-        return new ResponseEntity<>(updated, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(ETags.of(updated.getId(), updated.getVersion())).body(updated);
     }
 
     @Operation(
@@ -149,9 +263,11 @@ public class TeamController {
             @Parameter(description = "Team id.")
             @RequestParam(required = false) Integer id,
             @Parameter(description = "Team name.")
-            @RequestParam(required = false) String name) {
-        logger.info("Received search request with parameters: id={}, name={}", id, name);
-        List<TeamDto> teams = teamService.search(id, name);
+            @RequestParam(required = false) String name,
+            @Parameter(description = "How name is matched: CONTAINS (default), PREFIX or TOKEN (every word is a word prefix). PREFIX and TOKEN use indexes.")
+            @RequestParam(required = false, defaultValue = "CONTAINS") SearchMode mode) {
+        logger.info("Received search request with parameters: id={}, name={}, mode={}", id, name, mode);
+        List<TeamDto> teams = teamService.search(id, name, mode);
         logger.info("Search completed. Found {} teams.", teams.size());
         return new ResponseEntity<>(teams, HttpStatus.OK);
     }
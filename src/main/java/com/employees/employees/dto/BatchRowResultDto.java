@@ -0,0 +1,20 @@
+package com.employees.employees.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRowResultDto {
+    @Schema(description = "Id of the employee this result belongs to.", example = "123456")
+    private Long id;
+
+    @Schema(description = "Outcome for this employee.", example = "CREATED")
+    private BatchRowStatus status;
+
+    @Schema(description = "Reason why the employee was not created. Null when it was created.")
+    private String message;
+}
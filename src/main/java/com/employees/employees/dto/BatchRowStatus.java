@@ -0,0 +1,8 @@
+package com.employees.employees.dto;
+
+public enum BatchRowStatus {
+    CREATED,
+    ALREADY_EXISTS,
+    DUPLICATE_IN_REQUEST,
+    TEAM_DOES_NOT_EXIST
+}
@@ -0,0 +1,34 @@
+package com.employees.employees.dto;
+
+import com.employees.employees.event.ChangeEntity;
+import com.employees.employees.event.ChangeType;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ChangeDto {
+    @Schema(description = "Position of the change in the feed. Strictly increasing. Null on the live stream.", example = "1042")
+    private Long seq;
+
+    @Schema(description = "Kind of record that changed.", example = "EMPLOYEE")
+    private ChangeEntity entity;
+
+    @Schema(description = "Id of the employee or team that changed.", example = "123456")
+    private Long entityId;
+
+    @Schema(description = "What happened to the record.", example = "UPDATED")
+    private ChangeType type;
+
+    @Schema(description = "Version of the record after the change. Null for deletes.", example = "4")
+    private Integer version;
+
+    @Schema(description = "The record after the change, as returned by its GET endpoint. Null for deletes.", type = "object")
+    @JsonRawValue
+    private String payload;
+
+    @Schema(description = "When the change was recorded.")
+    private LocalDateTime changedAt;
+}
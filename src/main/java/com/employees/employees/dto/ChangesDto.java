@@ -0,0 +1,22 @@
+package com.employees.employees.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangesDto {
+    @Schema(description = "Changes after 'since', oldest first.")
+    private List<ChangeDto> changes;
+
+    @Schema(description = "Value to pass as 'since' on the next call. Equals 'since' when there were no changes.", example = "1042")
+    private Long nextSince;
+
+    @Schema(description = "True when more changes are available right away, false when the consumer is caught up.", example = "false")
+    private Boolean hasMore;
+}
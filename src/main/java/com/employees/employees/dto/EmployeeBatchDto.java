@@ -0,0 +1,17 @@
+package com.employees.employees.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+public class EmployeeBatchDto {
+    @Schema(description = "Employees to create. Must contain between 1 and 5000 employees.")
+    @NotEmpty(message = "Employees cannot be empty")
+    @Size(max = 5000, message = "Cannot create more than 5000 employees at once")
+    private List<@Valid EmployeeDto> employees;
+}
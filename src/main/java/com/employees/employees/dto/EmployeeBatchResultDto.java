@@ -0,0 +1,22 @@
+package com.employees.employees.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeBatchResultDto {
+    @Schema(description = "Number of employees created.", example = "998")
+    private int created;
+
+    @Schema(description = "Number of employees rejected.", example = "2")
+    private int rejected;
+
+    @Schema(description = "Result per employee, in request order.")
+    private List<BatchRowResultDto> results;
+}
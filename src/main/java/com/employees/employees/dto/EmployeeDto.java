@@ -24,4 +24,7 @@ public class EmployeeDto {
     @Schema(description = "Id of the team that employee belong. Must be not null.", example = "1")
     @NotNull(message = "Team ID cannot be null")
     private Integer idTeam;
+
+    @Schema(description = "Version of the employee, incremented by every update. Also sent as part of the ETag. When set on an update, the update only succeeds if the employee is still at this version.", example = "3")
+    private Integer version;
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.employees.employees.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+public class EmployeeIdsDto {
+    @Schema(description = "Ids of the employees to fetch. Must contain between 1 and 5000 ids.", example = "[123456, 654321]")
+    @NotEmpty(message = "Ids cannot be empty")
+    @Size(max = 5000, message = "Cannot fetch more than 5000 employees at once")
+    private List<@NotNull(message = "Ids cannot contain null") Long> ids;
+}
@@ -0,0 +1,24 @@
+package com.employees.employees.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+
+@Data
+public class EmployeePatchDto {
+    @Schema(description = "New name of the employee. Cannot be blank or exceed 255 characters. Omit to keep the current name.", example = "Mirko")
+    @Pattern(regexp = "(?s).*\\S.*", message = "Employee name cannot be blank")
+    @Size(max = 255, message = "Employee name cannot exceed 255 characters")
+    private String name;
+
+    @Schema(description = "Whether the employee is team lead of its team. Omit to keep the current value.", example = "true")
+    private Boolean isTeamLead;
+
+    @Schema(description = "Id of the team the employee moves to. Omit to stay in the current team.", example = "2")
+    private Integer idTeam;
+
+    @Schema(description = "Version the change is based on. When set, the update only succeeds if the employee is still at this version.", example = "3")
+    private Integer version;
+}
@@ -0,0 +1,19 @@
+package com.employees.employees.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeesByIdsDto {
+    @Schema(description = "Employees that exist, in the order their ids were requested.")
+    private List<EmployeeDto> found;
+
+    @Schema(description = "Requested ids without an employee.", example = "[654321]")
+    private List<Long> missing;
+}
@@ -0,0 +1,19 @@
+package com.employees.employees.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageDto<T> {
+    @Schema(description = "Records of the current page.")
+    private List<T> items;
+
+    @Schema(description = "Cursor to pass as 'after' to fetch the next page. Null when there are no more records.", example = "654321")
+    private Long nextCursor;
+}
@@ -15,4 +15,7 @@ public class TeamDto {
     @NotBlank(message = "Team name cannot be blank (empty or whitespace)")
     @Size(max = 50, message = "Team name cannot exceed 50 characters")
     private String name;
+
+    @Schema(description = "Version of the team, incremented by every update. Also sent as the ETag. When set on an update, the update only succeeds if the team is still at this version.", example = "3")
+    private Integer version;
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.employees.employees.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class TeamStatsDto {
+    @Schema(description = "Id of the team.", example = "1")
+    private Integer idTeam;
+
+    @Schema(description = "Number of employees in the team.", example = "12")
+    private int headcount;
+
+    @Schema(description = "Number of team leads in the team.", example = "1")
+    private int leads;
+
+    @Schema(description = "Last time this node saw the team's membership change. Null when unchanged since startup.")
+    private LocalDateTime lastModified;
+}
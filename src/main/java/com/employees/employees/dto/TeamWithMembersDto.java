@@ -0,0 +1,21 @@
+package com.employees.employees.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TeamWithMembersDto {
+    @Schema(description = "Unique identifier of the team.", example = "1")
+    private Integer id;
+
+    @Schema(description = "Name of the team.", example = "Development Team")
+    private String name;
+
+    @Schema(description = "Team lead, the lowest id if several members are marked as lead. Null when the team has none.")
+    private EmployeeDto teamLead;
+
+    @Schema(description = "All members of the team ordered by id, including the team lead.")
+    private List<EmployeeDto> members;
+}
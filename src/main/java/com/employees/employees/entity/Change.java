@@ -0,0 +1,22 @@
+package com.employees.employees.entity;
+
+import com.employees.employees.event.ChangeEntity;
+import com.employees.employees.event.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Change {
+    private Long seq;
+    private ChangeEntity entity;
+    private Long entityId;
+    private ChangeType type;
+    private Integer version;
+    private String payload;
+    private LocalDateTime changedAt;
+}
@@ -8,4 +8,5 @@ public class Employee {
     private String name;
     private Boolean isTeamLead;
     private Integer idTeam;
+    private Integer version;
 }
\ No newline at end of file
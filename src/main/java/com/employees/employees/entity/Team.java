@@ -7,4 +7,5 @@ public class Team {
     private Integer id;
     private String name;
     private Boolean isDeleted;
+    private Integer version;
 }
@@ -0,0 +1,17 @@
+package com.employees.employees.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamStats {
+    private Integer idTeam;
+    private int headcount;
+    private int leads;
+    private LocalDateTime lastModified;
+}
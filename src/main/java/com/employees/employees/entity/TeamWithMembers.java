@@ -0,0 +1,14 @@
+package com.employees.employees.entity;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class TeamWithMembers {
+    private Integer id;
+    private String name;
+    private Employee teamLead;
+    private List<Employee> members = new ArrayList<>();
+}
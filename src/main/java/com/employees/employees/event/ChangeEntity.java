@@ -0,0 +1,6 @@
+package com.employees.employees.event;
+
+public enum ChangeEntity {
+    EMPLOYEE,
+    TEAM
+}
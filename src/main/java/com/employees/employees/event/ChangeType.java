@@ -0,0 +1,7 @@
+package com.employees.employees.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,23 @@
+package com.employees.employees.event;
+
+import com.employees.employees.entity.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by the employee repository after a successful write. {@code employee} is the state
+ * after the change and is null for deletes. {@code previous} is the state before an update or
+ * delete when the repository knew it without a query, null otherwise.
+ */
+@Data
+@AllArgsConstructor
+public class EmployeeChangedEvent {
+    private ChangeType type;
+    private Long id;
+    private Employee employee;
+    private Employee previous;
+
+    public EmployeeChangedEvent(ChangeType type, Long id, Employee employee) {
+        this(type, id, employee, null);
+    }
+}
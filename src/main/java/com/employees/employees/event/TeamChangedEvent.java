@@ -0,0 +1,21 @@
+package com.employees.employees.event;
+
+import com.employees.employees.entity.Team;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by the team repository after a successful write. {@code team} is the state after the
+ * change and is null for deletes.
+ */
+@Data
+@AllArgsConstructor
+public class TeamChangedEvent {
+    private ChangeType type;
+    private Integer id;
+    private Team team;
+
+    public TeamChangedEvent(ChangeType type, Integer id) {
+        this(type, id, null);
+    }
+}
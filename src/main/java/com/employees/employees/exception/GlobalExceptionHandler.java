@@ -1,8 +1,15 @@
 package com.employees.employees.exception;
 
+import com.employees.employees.config.MetricsConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -10,13 +17,31 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.sql.SQLTransientConnectionException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
 @ControllerAdvice
+@Profile("!reactive")
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    private void countException(Exception exception, String errorCode) {
+        Counter.builder(MetricsConfig.EXCEPTIONS)
+                .description("Exceptions turned into error responses")
+                .tag("exception", exception.getClass().getSimpleName())
+                .tag("errorCode", errorCode)
+                .register(meterRegistry)
+                .increment();
+    }
+
     private ResponseEntity<ErrorDetails> buildErrorResponse(Exception exception, WebRequest webRequest, String errorCode, HttpStatus status) {
+        countException(exception, errorCode);
         ErrorDetails errorDetails = new ErrorDetails(
                 LocalDateTime.now(),
                 exception.getMessage(),
@@ -34,6 +59,16 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return buildErrorResponse(exception, webRequest,"RECORD_DOES_NOT_EXISTS", HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<ErrorDetails> handleVersionConflictException(VersionConflictException exception, WebRequest webRequest) {
+        return buildErrorResponse(exception, webRequest, "VERSION_CONFLICT", HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorDetails> handleInvalidRequestException(InvalidRequestException exception, WebRequest webRequest) {
+        return buildErrorResponse(exception, webRequest, "INVALID_REQUEST", HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(CreateFailedException.class)
     public ResponseEntity<ErrorDetails> handleCreateFailedException(UpdateFailedException exception, WebRequest webRequest) {
         return buildErrorResponse(exception, webRequest,"CREATE_FAILED", HttpStatus.INTERNAL_SERVER_ERROR);
@@ -49,11 +84,38 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return buildErrorResponse(exception, webRequest,"DELETE_FAILED", HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorDetails> handleServiceUnavailableException(ServiceUnavailableException exception, WebRequest webRequest) {
+        return buildErrorResponse(exception, webRequest, "SERVICE_UNAVAILABLE", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(CannotGetJdbcConnectionException.class)
+    public ResponseEntity<ErrorDetails> handleCannotGetJdbcConnectionException(CannotGetJdbcConnectionException exception, WebRequest webRequest) {
+        return buildErrorResponse(exception, webRequest, "SERVICE_UNAVAILABLE", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorDetails> handleCannotCreateTransactionException(CannotCreateTransactionException exception, WebRequest webRequest) {
+        // Transactional methods get their connection when the transaction begins, so a pool or
+        // limiter timeout arrives wrapped in this exception instead of CannotGetJdbcConnectionException.
+        if (exception.contains(SQLTransientConnectionException.class)) {
+            return buildErrorResponse(exception, webRequest, "SERVICE_UNAVAILABLE", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return handleAllExceptions(exception, webRequest);
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorDetails> handleTaskRejectedException(TaskRejectedException exception, WebRequest webRequest) {
+        // Too many controller calls waiting for a worker in employees.execution.mode=async.
+        return buildErrorResponse(exception, webRequest, "SERVICE_UNAVAILABLE", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException exception,
                                                                   HttpHeaders headers,
                                                                   HttpStatus status,
                                                                   WebRequest webRequest) {
+        countException(exception, "VALIDATION_FAILED");
         Map<String, String> fieldErrors = new HashMap<>();
         exception.getBindingResult().getFieldErrors().forEach((FieldError error) ->
                 fieldErrors.put(error.getField(), error.getDefaultMessage())
@@ -0,0 +1,106 @@
+package com.employees.employees.exception;
+
+import com.employees.employees.config.MetricsConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Error responses of the reactive stack, same bodies and error codes as {@link GlobalExceptionHandler}.
+ */
+@RestControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler {
+    private final MeterRegistry meterRegistry;
+
+    public ReactiveExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    private void countException(Exception exception, String errorCode) {
+        Counter.builder(MetricsConfig.EXCEPTIONS)
+                .description("Exceptions turned into error responses")
+                .tag("exception", exception.getClass().getSimpleName())
+                .tag("errorCode", errorCode)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private ResponseEntity<ErrorDetails> buildErrorResponse(Exception exception, ServerWebExchange exchange, String errorCode, HttpStatus status) {
+        countException(exception, errorCode);
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                exception.getMessage(),
+                "uri=" + exchange.getRequest().getPath().value(),
+                errorCode);
+        return new ResponseEntity<>(errorDetails, status);
+    }
+
+    @ExceptionHandler(RecordAlreadyExistsException.class)
+    public ResponseEntity<ErrorDetails> handleRecordAlreadyExistsException(RecordAlreadyExistsException exception, ServerWebExchange exchange) {
+        return buildErrorResponse(exception, exchange, "RECORD_ALREADY_EXISTS", HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(RecordDoesNotExists.class)
+    public ResponseEntity<ErrorDetails> handleRecordIdDoesNotExists(RecordDoesNotExists exception, ServerWebExchange exchange) {
+        return buildErrorResponse(exception, exchange, "RECORD_DOES_NOT_EXISTS", HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<ErrorDetails> handleVersionConflictException(VersionConflictException exception, ServerWebExchange exchange) {
+        return buildErrorResponse(exception, exchange, "VERSION_CONFLICT", HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(CreateFailedException.class)
+    public ResponseEntity<ErrorDetails> handleCreateFailedException(CreateFailedException exception, ServerWebExchange exchange) {
+        return buildErrorResponse(exception, exchange, "CREATE_FAILED", HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @ExceptionHandler(UpdateFailedException.class)
+    public ResponseEntity<ErrorDetails> handleUpdateFailedException(UpdateFailedException exception, ServerWebExchange exchange) {
+        return buildErrorResponse(exception, exchange, "UPDATE_FAILED", HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @ExceptionHandler(DeleteFailedException.class)
+    public ResponseEntity<ErrorDetails> handleDeleteFailedException(DeleteFailedException exception, ServerWebExchange exchange) {
+        return buildErrorResponse(exception, exchange, "DELETE_FAILED", HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, Object>> handleWebExchangeBindException(WebExchangeBindException exception) {
+        countException(exception, "VALIDATION_FAILED");
+        Map<String, String> fieldErrors = new HashMap<>();
+        exception.getBindingResult().getFieldErrors().forEach((FieldError error) ->
+                fieldErrors.put(error.getField(), error.getDefaultMessage())
+        );
+
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("error", true);
+        responseBody.put("message", "Validation failed");
+        responseBody.put("details", fieldErrors);
+
+        return new ResponseEntity<>(responseBody, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorDetails> handleResponseStatusException(ResponseStatusException exception, ServerWebExchange exchange) {
+        return buildErrorResponse(exception, exchange, exception.getStatus().name(), exception.getStatus());
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorDetails> handleAllExceptions(Exception exception, ServerWebExchange exchange) {
+        return buildErrorResponse(exception, exchange, "INTERNAL_SERVER_ERROR", HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+}
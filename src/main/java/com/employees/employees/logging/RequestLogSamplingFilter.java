@@ -0,0 +1,40 @@
+package com.employees.employees.logging;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides once per request whether its request logging is kept, so a sampled request keeps all of
+ * its log lines. The decision is read by {@link SamplingTurboFilter}.
+ */
+@Component
+public class RequestLogSamplingFilter extends OncePerRequestFilter {
+    public static final String SAMPLED_MDC_KEY = "logSampled";
+
+    private final double sampleRate;
+
+    public RequestLogSamplingFilter(@Value("${employees.logging.request-sample-rate:1.0}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean sampled = sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        MDC.put(SAMPLED_MDC_KEY, Boolean.toString(sampled));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(SAMPLED_MDC_KEY);
+        }
+    }
+}
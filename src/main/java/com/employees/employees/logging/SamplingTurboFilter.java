@@ -0,0 +1,29 @@
+package com.employees.employees.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Drops INFO and lower events of loggers under {@code loggerPrefix} for requests that
+ * {@link RequestLogSamplingFilter} did not sample. Runs before the message is formatted, so dropped
+ * events cost no string building. WARN and ERROR always pass.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+    private String loggerPrefix = "";
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.WARN) || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        return "false".equals(MDC.get(RequestLogSamplingFilter.SAMPLED_MDC_KEY)) ? FilterReply.DENY : FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,13 @@
+package com.employees.employees.mapper;
+
+import com.employees.employees.dto.ChangeDto;
+import com.employees.employees.entity.Change;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+@Mapper
+public interface ChangeMapper {
+    ChangeMapper MAPPER = Mappers.getMapper(ChangeMapper.class);
+
+    ChangeDto mapToChangeDto(Change change);
+}
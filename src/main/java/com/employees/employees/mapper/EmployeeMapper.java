@@ -1,8 +1,10 @@
 package com.employees.employees.mapper;
 
 import com.employees.employees.dto.EmployeeDto;
+import com.employees.employees.dto.EmployeePatchDto;
 import com.employees.employees.entity.Employee;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 @Mapper
@@ -11,4 +13,6 @@ public interface EmployeeMapper {
 
     EmployeeDto mapToEmployeeDto(Employee employee);
     Employee mapToEmployee(EmployeeDto employeeDto);
+    @Mapping(target = "id", ignore = true)
+    Employee mapToEmployee(EmployeePatchDto employeePatchDto);
 }
\ No newline at end of file
@@ -1,14 +1,20 @@
 package com.employees.employees.mapper;
 
 import com.employees.employees.dto.TeamDto;
+import com.employees.employees.dto.TeamStatsDto;
+import com.employees.employees.dto.TeamWithMembersDto;
 import com.employees.employees.entity.Team;
+import com.employees.employees.entity.TeamStats;
+import com.employees.employees.entity.TeamWithMembers;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
 
-@Mapper
+@Mapper(uses = EmployeeMapper.class)
 public interface TeamMapper {
     TeamMapper MAPPER = Mappers.getMapper(TeamMapper.class);
 
     TeamDto mapToTeamDto(Team team);
     Team mapToTeam(TeamDto teamDto);
+    TeamWithMembersDto mapToTeamWithMembersDto(TeamWithMembers teamWithMembers);
+    TeamStatsDto mapToTeamStatsDto(TeamStats teamStats);
 }
\ No newline at end of file
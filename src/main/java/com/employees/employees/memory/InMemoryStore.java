@@ -0,0 +1,170 @@
+package com.employees.employees.memory;
+
+import com.employees.employees.entity.Employee;
+import com.employees.employees.entity.Team;
+import com.employees.employees.search.LongPostingList;
+import com.employees.employees.search.SearchMode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Tables of the "memory" storage profile: employees by id, teams by id, and the secondary indexes the
+ * queries need (employee ids in order, employees per team, employees by name, teams by name).
+ * <p>
+ * One read-write lock guards all of it, so a write that checks a team and stores an employee is atomic
+ * the way a single statement is in the database. Readers run in parallel. Stored records are never
+ * modified, a write stores a new instance, so records can be handed out like cached ones.
+ * The accessors below must be called inside {@link #read} or {@link #write}.
+ */
+@Component
+@Profile("memory")
+public class InMemoryStore {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongObjectMap<Employee> employees = new LongObjectMap<>();
+    private final LongPostingList employeeIds = new LongPostingList();
+    private final LongObjectMap<LongPostingList> employeesByTeam = new LongObjectMap<>();
+    private final NavigableMap<String, LongPostingList> employeesByName = new TreeMap<>();
+    private final LongObjectMap<Team> teams = new LongObjectMap<>();
+    // The unique key covers soft-deleted teams too, like the database's.
+    private final Map<String, Team> teamsByName = new HashMap<>();
+    private int lastTeamId;
+
+    public InMemoryStore(MeterRegistry meterRegistry) {
+        Gauge.builder("employees.memory.employees", this, store -> store.read(store::employeeCount))
+                .description("Employees held by the in-memory store")
+                .register(meterRegistry);
+    }
+
+    public <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public <T> T write(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Employee getEmployee(long id) {
+        return employees.get(id);
+    }
+
+    public int employeeCount() {
+        return employees.size();
+    }
+
+    /**
+     * All employee ids in ascending order. Read only.
+     */
+    public LongPostingList employeeIds() {
+        return employeeIds;
+    }
+
+    /**
+     * Ids of the team's employees in ascending order, null when it has none. Read only.
+     */
+    public LongPostingList teamMembers(int idTeam) {
+        return employeesByTeam.get(idTeam);
+    }
+
+    /**
+     * Employee ids by case-folded name, see {@link SearchMode#fold}. Read only.
+     */
+    public NavigableMap<String, LongPostingList> employeesByName() {
+        return Collections.unmodifiableNavigableMap(employeesByName);
+    }
+
+    public void putEmployee(Employee employee) {
+        Employee previous = employees.put(employee.getId(), employee);
+        if (previous != null) {
+            unindex(previous);
+        } else {
+            employeeIds.add(employee.getId());
+        }
+        employeesByTeam.computeIfAbsent(employee.getIdTeam(), LongPostingList::new).add(employee.getId());
+        employeesByName.computeIfAbsent(SearchMode.fold(employee.getName()), name -> new LongPostingList()).add(employee.getId());
+    }
+
+    public Employee removeEmployee(long id) {
+        Employee previous = employees.remove(id);
+        if (previous != null) {
+            employeeIds.remove(id);
+            unindex(previous);
+        }
+        return previous;
+    }
+
+    /**
+     * The team, soft-deleted or not.
+     */
+    public Team getTeam(int id) {
+        return teams.get(id);
+    }
+
+    public Team getLiveTeam(int id) {
+        Team team = teams.get(id);
+        return team == null || Boolean.TRUE.equals(team.getIsDeleted()) ? null : team;
+    }
+
+    /**
+     * The team holding the name, soft-deleted or not. Names compare case-insensitively.
+     */
+    public Team getTeamByName(String name) {
+        return teamsByName.get(SearchMode.fold(name));
+    }
+
+    /**
+     * Team ids are handed out in sequence from 1, so this bounds every id in use.
+     */
+    public int lastTeamId() {
+        return lastTeamId;
+    }
+
+    public int nextTeamId() {
+        return ++lastTeamId;
+    }
+
+    public void putTeam(Team team) {
+        Team previous = teams.put(team.getId(), team);
+        if (previous != null) {
+            teamsByName.remove(SearchMode.fold(previous.getName()));
+        }
+        teamsByName.put(SearchMode.fold(team.getName()), team);
+    }
+
+    private void unindex(Employee employee) {
+        LongPostingList members = employeesByTeam.get(employee.getIdTeam());
+        if (members != null) {
+            members.remove(employee.getId());
+            if (members.size() == 0) {
+                employeesByTeam.remove(employee.getIdTeam());
+            }
+        }
+        String name = SearchMode.fold(employee.getName());
+        LongPostingList named = employeesByName.get(name);
+        if (named != null) {
+            named.remove(employee.getId());
+            if (named.size() == 0) {
+                employeesByName.remove(name);
+            }
+        }
+    }
+}
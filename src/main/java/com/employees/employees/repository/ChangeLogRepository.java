@@ -0,0 +1,13 @@
+package com.employees.employees.repository;
+
+import com.employees.employees.entity.Change;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ChangeLogRepository {
+    void append(List<Change> changes);
+    List<Change> getSince(long since, int limit, Duration settleTime);
+    int deleteBefore(LocalDateTime cutoff, int limit);
+}
@@ -1,15 +1,26 @@
 package com.employees.employees.repository;
 
 import com.employees.employees.entity.Employee;
+import com.employees.employees.search.SearchMode;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface EmployeeRepository {
     Employee create(Employee employee);
+    void createAll(List<Employee> employees);
+    Set<Long> getExistingIds(Collection<Long> ids);
     List<Employee> getAll();
+    List<Employee> getPage(Long after, int limit);
+    void streamAll(Consumer<Employee> consumer);
+    void export(Consumer<Employee> consumer);
     Optional<Employee> getById(Long id);
+    List<Employee> getByIds(Collection<Long> ids);
     Employee update(Long id, Employee employee);
+    Employee patch(Long id, Employee changes);
     void delete(Long id);
-    List<Employee> search(Long id, String name, Boolean isTeamLead, Integer idTeam);
+    List<Employee> search(Long id, String name, SearchMode mode, Boolean isTeamLead, Integer idTeam);
 }
\ No newline at end of file
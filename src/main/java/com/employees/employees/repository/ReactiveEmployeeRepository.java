@@ -0,0 +1,21 @@
+package com.employees.employees.repository;
+
+import com.employees.employees.entity.Employee;
+import com.employees.employees.search.SearchMode;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ReactiveEmployeeRepository {
+    Mono<Employee> create(Employee employee);
+    Mono<Void> createAll(List<Employee> employees);
+    Flux<Long> getExistingIds(Collection<Long> ids);
+    Flux<Employee> getAll();
+    Flux<Employee> getPage(Long after, int limit);
+    Mono<Employee> getById(Long id);
+    Mono<Employee> update(Long id, Employee employee);
+    Mono<Void> delete(Long id);
+    Flux<Employee> search(Long id, String name, SearchMode mode, Boolean isTeamLead, Integer idTeam);
+}
@@ -0,0 +1,18 @@
+package com.employees.employees.repository;
+
+import com.employees.employees.entity.Team;
+import com.employees.employees.search.SearchMode;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface ReactiveTeamRepository {
+    Mono<Team> create(String name);
+    Flux<Team> getAll();
+    Mono<Team> getById(Integer id);
+    Flux<Integer> getExistingIds(Collection<Integer> ids);
+    Mono<Team> update(Integer id, Team team);
+    Mono<Void> delete(Integer id);
+    Flux<Team> search(Integer id, String name, SearchMode mode);
+}
@@ -1,16 +1,25 @@
 package com.employees.employees.repository;
 
 import com.employees.employees.entity.Team;
+import com.employees.employees.entity.TeamStats;
+import com.employees.employees.entity.TeamWithMembers;
+import com.employees.employees.search.SearchMode;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface TeamRepository {
     Team create(String name);
     List<Team> getAll();
     Optional<Team> getById(Integer id);
     Optional<Team> getByName(String name);
+    Optional<TeamWithMembers> getWithMembers(Integer id);
+    List<TeamWithMembers> getAllWithMembers();
+    Set<Integer> getExistingIds(Collection<Integer> ids);
     Team update(Integer id, Team teamDto);
     void delete(Integer id);
-    List<Team> search(Integer id, String name);
+    List<Team> search(Integer id, String name, SearchMode mode);
+    List<TeamStats> getStats();
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.employees.employees.repository.impl;
+
+import com.employees.employees.config.MetricsConfig;
+import com.employees.employees.entity.Change;
+import com.employees.employees.event.ChangeEntity;
+import com.employees.employees.event.ChangeType;
+import com.employees.employees.repository.ChangeLogRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@Profile("!reactive & !memory")
+@Timed(value = MetricsConfig.REPOSITORY_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+public class ChangeLogRepositoryImpl implements ChangeLogRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ChangeLogRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void append(List<Change> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO ChangeLog (entity, entityId, changeType, version, payload) " +
+                "VALUES (:entity, :entityId, :changeType, :version, :payload)";
+        MapSqlParameterSource[] batch = changes.stream()
+                .map(change -> new MapSqlParameterSource()
+                        .addValue("entity", change.getEntity().name())
+                        .addValue("entityId", change.getEntityId())
+                        .addValue("changeType", change.getType().name())
+                        .addValue("version", change.getVersion())
+                        .addValue("payload", change.getPayload()))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(sql, batch);
+    }
+
+    @Override
+    public List<Change> getSince(long since, int limit, Duration settleTime) {
+        // Sequence numbers are taken at insert and become visible at commit, so a young change may still
+        // be followed by a lower one from a transaction that has not committed yet. Only settled changes
+        // are served, which keeps consumers from moving their cursor past such a change.
+        String sql = "SELECT * FROM ChangeLog WHERE seq > :since " +
+                "AND changedAt < TIMESTAMPADD(MICROSECOND, :settleMicros, CURRENT_TIMESTAMP(3)) " +
+                "ORDER BY seq LIMIT :limit";
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("since", since)
+                .addValue("settleMicros", -settleTime.toNanos() / 1000)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(sql, parameters, this::changeMapper);
+    }
+
+    @Override
+    public int deleteBefore(LocalDateTime cutoff, int limit) {
+        String sql = "DELETE FROM ChangeLog WHERE changedAt < :cutoff ORDER BY seq LIMIT :limit";
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("limit", limit);
+        return jdbcTemplate.update(sql, parameters);
+    }
+
+    private Change changeMapper(ResultSet rs, int rowNum) throws SQLException {
+        Change change = new Change();
+        change.setSeq(rs.getLong("seq"));
+        change.setEntity(ChangeEntity.valueOf(rs.getString("entity")));
+        change.setEntityId(rs.getLong("entityId"));
+        change.setType(ChangeType.valueOf(rs.getString("changeType")));
+        change.setVersion(rs.getObject("version", Integer.class));
+        change.setPayload(rs.getString("payload"));
+        change.setChangedAt(rs.getTimestamp("changedAt").toLocalDateTime());
+        return change;
+    }
+}
@@ -1,70 +1,217 @@
 package com.employees.employees.repository.impl;
 
+import com.employees.employees.config.CacheConfig;
+import com.employees.employees.config.MetricsConfig;
 import com.employees.employees.entity.Employee;
-import com.employees.employees.entity.Team;
+import com.employees.employees.event.ChangeType;
+import com.employees.employees.event.EmployeeChangedEvent;
 import com.employees.employees.exception.*;
 import com.employees.employees.repository.EmployeeRepository;
 import com.employees.employees.repository.TeamRepository;
+import com.employees.employees.routing.ReplicaRead;
+import com.employees.employees.search.SearchMode;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Repository
+@Profile("!reactive & !memory")
+@Timed(value = MetricsConfig.REPOSITORY_TIMER, percentiles = {0.5, 0.99}, histogram = true)
 public class EmployeeRepositoryImpl implements EmployeeRepository {
     private static final Logger logger = LoggerFactory.getLogger(EmployeeRepositoryImpl.class);
+    private static final int ID_CHUNK_SIZE = 1000;
     private final NamedParameterJdbcTemplate jdbcTemplate;
     private final TeamRepository teamRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int exportFetchSize;
+    private final DistributionSummary getAllRows;
+    private final DistributionSummary getPageRows;
+    private final DistributionSummary getByIdsRows;
+    private final DistributionSummary searchRows;
 
-    public EmployeeRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate, TeamRepository teamRepository) {
+    public EmployeeRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                                  TeamRepository teamRepository,
+                                  CacheManager cacheManager,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${employees.export.fetch-size:1000}") int exportFetchSize) {
         this.jdbcTemplate = jdbcTemplate;
         this.teamRepository = teamRepository;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.exportFetchSize = exportFetchSize;
+        this.getAllRows = rowsSummary(meterRegistry, "getAll");
+        this.getPageRows = rowsSummary(meterRegistry, "getPage");
+        this.getByIdsRows = rowsSummary(meterRegistry, "getByIds");
+        this.searchRows = rowsSummary(meterRegistry, "search");
     }
 
     @Override
+    @CachePut(cacheNames = CacheConfig.EMPLOYEES, key = "#result.id")
+    @Transactional
     public Employee create(Employee employee) {
-        Optional<Employee> employeeDtoOptional = getById(employee.getId());
-        if (employeeDtoOptional.isPresent()) {
+        // The SELECT yields no row when the team does not exist or is soft-deleted, and the
+        // primary key rejects duplicate ids, so the insert needs no prior lookups.
+        String sql = "INSERT INTO Employee (id, name, isTeamLead, idTeam) " +
+                "SELECT :id, :name, :isTeamLead, id FROM Team WHERE id = :idTeam AND isDeleted = FALSE";
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        parameters.addValue("id", employee.getId());
+        parameters.addValue("name", employee.getName());
+        parameters.addValue("isTeamLead", employee.getIsTeamLead());
+        parameters.addValue("idTeam", employee.getIdTeam());
+
+        int rowsAffected;
+        try {
+            rowsAffected = jdbcTemplate.update(sql, parameters);
+        } catch (DuplicateKeyException e) {
             logger.error("Employee creation failed: ID {} already exists", employee.getId());
             throw new RecordAlreadyExistsException(String.format("Employee ID %s already exists", employee.getId()));
         }
-
-        Optional<Team> team = teamRepository.getById(employee.getIdTeam());
-
-        if (!team.isPresent() || (team.isPresent() && team.get().getIsDeleted())) {
+        if (rowsAffected == 0) {
             logger.error("Team with ID {} does not exist", employee.getIdTeam());
             throw new RecordDoesNotExists(String.format("Team ID %s does not exist", employee.getIdTeam()));
         }
+        employee.setVersion(0);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.CREATED, employee.getId(), employee));
+        return employee;
+    }
 
+    @Override
+    @Transactional
+    public void createAll(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
         String sql = "INSERT INTO Employee (id, name, isTeamLead, idTeam) VALUES (:id, :name, :isTeamLead, :idTeam)";
-        MapSqlParameterSource parameters = new MapSqlParameterSource();
-        parameters.addValue("id", employee.getId());
-        parameters.addValue("name", employee.getName());
-        parameters.addValue("isTeamLead", employee.getIsTeamLead());
-        parameters.addValue("idTeam", employee.getIdTeam());
+        try {
+            jdbcTemplate.batchUpdate(sql, SqlParameterSourceUtils.createBatch(employees));
+        } catch (DuplicateKeyException e) {
+            logger.error("Batch employee creation failed: an employee ID was created concurrently", e);
+            throw new RecordAlreadyExistsException("One or more employee IDs already exist");
+        } catch (DataIntegrityViolationException e) {
+            logger.error("Batch employee creation failed: a team was removed concurrently", e);
+            throw new RecordDoesNotExists("One or more teams no longer exist");
+        }
+        // The foreign key cannot see soft-deleted teams. Its checks lock the team rows, so a delete that
+        // raced with the insert has committed by now and rolls the batch back here.
+        Set<Integer> teamIds = employees.stream().map(Employee::getIdTeam).collect(Collectors.toSet());
+        if (teamRepository.getExistingIds(teamIds).size() < teamIds.size()) {
+            logger.error("Batch employee creation failed: a team was deleted concurrently");
+            throw new RecordDoesNotExists("One or more teams no longer exist");
+        }
+        employees.forEach(employee -> employee.setVersion(0));
+        // Replaces any cached "does not exist" entries for the new ids once the surrounding transaction commits.
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES);
+        if (cache != null) {
+            Cache transactionAwareCache = new TransactionAwareCacheDecorator(cache);
+            employees.forEach(employee -> transactionAwareCache.put(employee.getId(), employee));
+        }
+        employees.forEach(employee -> eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.CREATED, employee.getId(), employee)));
+    }
 
-        int rowsAffected = jdbcTemplate.update(sql, parameters);
-        if (rowsAffected == 0) {
-            logger.error("Employee creation failed: no rows were affected");
-            throw new CreateFailedException("Create failed: no rows were affected");
+    @Override
+    public Set<Long> getExistingIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new HashSet<>();
         }
-        return employee;
+        String sql = "SELECT id FROM Employee WHERE id IN (:ids)";
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        parameters.addValue("ids", ids);
+        return new HashSet<>(jdbcTemplate.queryForList(sql, parameters, Long.class));
     }
 
     @Override
+    @ReplicaRead
     public List<Employee> getAll() {
         String sql = "SELECT * from Employee";
-        return jdbcTemplate.query(sql, this::employeeMapper);
+        List<Employee> employees = jdbcTemplate.query(sql, this::employeeMapper);
+        getAllRows.record(employees.size());
+        return employees;
     }
+
     @Override
+    @ReplicaRead
+    public List<Employee> getPage(Long after, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        parameters.addValue("limit", limit);
+        String sql = "SELECT * FROM Employee ORDER BY id LIMIT :limit";
+        if (after != null) {
+            sql = "SELECT * FROM Employee WHERE id > :after ORDER BY id LIMIT :limit";
+            parameters.addValue("after", after);
+        }
+        List<Employee> employees = jdbcTemplate.query(sql, parameters, this::employeeMapper);
+        getPageRows.record(employees.size());
+        return employees;
+    }
+
+    @Override
+    public void streamAll(Consumer<Employee> consumer) {
+        // On the primary: the name index is built from it and would keep any row a replica missed.
+        stream(consumer);
+    }
+
+    @Override
+    @ReplicaRead
+    public void export(Consumer<Employee> consumer) {
+        stream(consumer);
+    }
+
+    private void stream(Consumer<Employee> consumer) {
+        String sql = "SELECT * FROM Employee ORDER BY id";
+        // Forward-only, read-only cursor: with useCursorFetch the driver pulls exportFetchSize rows
+        // per round trip instead of buffering the whole result set in memory.
+        jdbcTemplate.getJdbcOperations().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(exportFetchSize);
+            return statement;
+        }, rs -> {
+            consumer.accept(employeeMapper(rs, rs.getRow()));
+        });
+    }
+
+    // Loaded inside the cache entry: a write's @CachePut waits for the load instead of being
+    // overwritten by a row it read before the write.
+    @Override
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES, sync = true)
     public Optional<Employee> getById(Long id) {
+        return getFromPrimary(id);
+    }
+
+    /**
+     * The row as the primary holds it now, bypassing the cache.
+     */
+    public Optional<Employee> getFromPrimary(Long id) {
         String sql = "SELECT * FROM Employee WHERE id = :id";
         MapSqlParameterSource parameters = new MapSqlParameterSource();
         parameters.addValue("id", id);
@@ -72,66 +219,198 @@ public class EmployeeRepositoryImpl implements EmployeeRepository {
             Employee employee = jdbcTemplate.queryForObject(sql, parameters, this::employeeMapper);
             return Optional.of(employee);
         } catch (EmptyResultDataAccessException e) {
-            logger.warn("No employee found with ID: {}", id);
+            logger.debug("No employee found with ID: {}", id);
             return Optional.empty();
         }
     }
 
     @Override
-    public Employee update(Long id, Employee employee) {
-        Optional<Employee> employeeByIdOptional = getById(id);
-        if (!employeeByIdOptional.isPresent()) {
-            logger.error("Update failed: Employee ID {} does not exist", id);
-            throw new RecordDoesNotExists(String.format("Employee ID %s does not exists", id));
+    public List<Employee> getByIds(Collection<Long> ids) {
+        List<Employee> employees = new ArrayList<>(ids.size());
+        List<Long> uncachedIds = new ArrayList<>();
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES);
+        for (Long id : ids) {
+            Cache.ValueWrapper cached = cache != null ? cache.get(id) : null;
+            if (cached == null) {
+                uncachedIds.add(id);
+            } else if (cached.get() != null) {
+                employees.add((Employee) cached.get());
+            }
+            // A cached null is a recent "does not exist" from getById, the id stays missing.
         }
-        if (employee.getIdTeam() != null) {
-            Optional<Team> team = teamRepository.getById(employee.getIdTeam());
+        logger.debug("{} of {} employees served from cache", ids.size() - uncachedIds.size(), ids.size());
 
-            if (!team.isPresent() || (team.isPresent() && team.get().getIsDeleted())) {
-                logger.error("Update failed: Team ID {} does not exist", employee.getIdTeam());
-                throw new RecordDoesNotExists(String.format("Team ID %s does not exist", employee.getIdTeam()));
+        // Chunked so the IN list stays within max_allowed_packet and the optimizer keeps using the primary key.
+        String sql = "SELECT * FROM Employee WHERE id IN (:ids)";
+        for (int from = 0; from < uncachedIds.size(); from += ID_CHUNK_SIZE) {
+            List<Long> chunk = uncachedIds.subList(from, Math.min(from + ID_CHUNK_SIZE, uncachedIds.size()));
+            List<Employee> found = jdbcTemplate.query(sql, new MapSqlParameterSource("ids", chunk), this::employeeMapper);
+            getByIdsRows.record(found.size());
+            employees.addAll(found);
+            if (cache != null) {
+                // Only fills gaps: an entry written since the query is newer than the row it returned,
+                // and a deleted employee's entry stays a "does not exist".
+                Set<Long> missingIds = new HashSet<>(chunk);
+                for (Employee employee : found) {
+                    cache.putIfAbsent(employee.getId(), employee);
+                    missingIds.remove(employee.getId());
+                }
+                missingIds.forEach(id -> cache.putIfAbsent(id, null));
             }
         }
+        return employees;
+    }
 
-        Employee employeeById = employeeByIdOptional.get();
-        String sql = "UPDATE Employee SET name = :name, isTeamLead = :isTeamLead, idTeam = :idTeam WHERE id = :id";
-        MapSqlParameterSource parameters = new MapSqlParameterSource()
-                .addValue("name", employee.getName() == null ? employeeById.getName() : employee.getName())
-                .addValue("isTeamLead", employee.getIsTeamLead() == null ? employeeById.getIsTeamLead() : employee.getIsTeamLead())
-                .addValue("idTeam", employee.getIdTeam() == null ? employeeById.getIdTeam() : employee.getIdTeam())
-                .addValue("id", id);
+    @Override
+    @CachePut(cacheNames = CacheConfig.EMPLOYEES, key = "#id")
+    @Transactional
+    public Employee update(Long id, Employee employee) {
+        // Null fields keep their current value, so an update is the same write as a patch.
+        return write(id, employee);
+    }
 
-        int rowsAffected = jdbcTemplate.update(sql, parameters);
-        if (rowsAffected == 0) {
-            logger.error("Update failed: no rows were affected for employee ID {}", id);
-            throw new UpdateFailedException(String.format("Failed to update employee with ID ", id));
+    @Override
+    @CachePut(cacheNames = CacheConfig.EMPLOYEES, key = "#id")
+    @Transactional
+    public Employee patch(Long id, Employee changes) {
+        return write(id, changes);
+    }
+
+    /**
+     * Writes only the supplied columns, in one statement that also checks the team. The new row and the
+     * one it replaced are both known exactly, so the event carries the previous state:
+     * <ul>
+     * <li>With the cached row, and the client's version matching it or absent, the statement is guarded
+     * by the cached version. One round trip.</li>
+     * <li>Otherwise, or when the cached row turns out to be stale, the row is read and locked first.
+     * Two round trips.</li>
+     * </ul>
+     */
+    private Employee write(Long id, Employee changes) {
+        Integer expectedVersion = changes.getVersion();
+        Employee cached = cachedEmployee(id);
+        if (cached != null && (expectedVersion == null || expectedVersion.equals(cached.getVersion()))) {
+            if (jdbcTemplate.update(patchSql(changes), patchParameters(id, changes, cached.getVersion())) > 0) {
+                return written(id, changes, cached);
+            }
+            if (expectedVersion != null) {
+                throw updateFailure(id, changes.getIdTeam(), expectedVersion);
+            }
+        }
+        Employee current = lockedEmployee(id)
+                .orElseThrow(() -> {
+                    logger.error("Update failed: Employee ID {} does not exist", id);
+                    return new RecordDoesNotExists(String.format("Employee ID %s does not exists", id));
+                });
+        if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+            throw updateFailure(id, changes.getIdTeam(), expectedVersion);
+        }
+        if (jdbcTemplate.update(patchSql(changes), patchParameters(id, changes, current.getVersion())) == 0) {
+            throw updateFailure(id, changes.getIdTeam(), expectedVersion);
         }
+        return written(id, changes, current);
+    }
 
-        return getById(id)
-                .orElseThrow(() -> new RecordDoesNotExists(String.format("Employee ID %s already exists", id)));
+    private Employee written(Long id, Employee changes, Employee previous) {
+        Employee updated = new Employee();
+        updated.setId(id);
+        updated.setName(changes.getName() != null ? changes.getName() : previous.getName());
+        updated.setIsTeamLead(changes.getIsTeamLead() != null ? changes.getIsTeamLead() : previous.getIsTeamLead());
+        updated.setIdTeam(changes.getIdTeam() != null ? changes.getIdTeam() : previous.getIdTeam());
+        updated.setVersion(previous.getVersion() + 1);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.UPDATED, id, updated, previous));
+        return updated;
     }
 
-    @Override
-    public void delete(Long id) {
-        Optional<Employee> employeeDtoOptional = getById(id);
-        if (!employeeDtoOptional.isPresent()) {
-            logger.error("Delete failed: Employee ID {} does not exist", id);
-            throw new RecordDoesNotExists(String.format("Employee with ID %s does not exists", id));
+    /**
+     * The row as the primary holds it, locked until the surrounding transaction ends.
+     */
+    private Optional<Employee> lockedEmployee(Long id) {
+        List<Employee> rows = jdbcTemplate.query("SELECT * FROM Employee WHERE id = :id FOR UPDATE",
+                new MapSqlParameterSource("id", id), this::employeeMapper);
+        return rows.stream().findFirst();
+    }
+
+    private static String patchSql(Employee changes) {
+        StringBuilder sql = new StringBuilder("UPDATE Employee SET ");
+        if (changes.getName() != null) {
+            sql.append("name = :name, ");
         }
+        if (changes.getIsTeamLead() != null) {
+            sql.append("isTeamLead = :isTeamLead, ");
+        }
+        if (changes.getIdTeam() != null) {
+            sql.append("idTeam = :idTeam, ");
+        }
+        sql.append("version = version + 1 WHERE id = :id AND version = :version");
+        if (changes.getIdTeam() != null) {
+            // The foreign key cannot see soft-deleted teams.
+            sql.append(" AND EXISTS (SELECT 1 FROM Team WHERE id = :idTeam AND isDeleted = FALSE)");
+        }
+        return sql.toString();
+    }
 
+    private static MapSqlParameterSource patchParameters(Long id, Employee changes, Integer version) {
+        return new MapSqlParameterSource()
+                .addValue("name", changes.getName())
+                .addValue("isTeamLead", changes.getIsTeamLead())
+                .addValue("idTeam", changes.getIdTeam())
+                .addValue("version", version)
+                .addValue("id", id);
+    }
+
+    private RuntimeException updateFailure(Long id, Integer idTeam, Integer expectedVersion) {
+        // Only the failure path pays for finding out why the statement did not match.
+        if (idTeam != null && !teamRepository.getById(idTeam).isPresent()) {
+            logger.error("Update failed: Team ID {} does not exist", idTeam);
+            return new RecordDoesNotExists(String.format("Team ID %s does not exist", idTeam));
+        }
+        List<Integer> current = jdbcTemplate.queryForList("SELECT version FROM Employee WHERE id = :id",
+                new MapSqlParameterSource("id", id), Integer.class);
+        if (current.isEmpty()) {
+            logger.error("Update failed: Employee ID {} does not exist", id);
+            return new RecordDoesNotExists(String.format("Employee ID %s does not exists", id));
+        }
+        logger.warn("Update failed: Employee ID {} is at version {}, expected {}", id, current.get(0), expectedVersion);
+        return new VersionConflictException(String.format("Employee ID %s was modified concurrently, expected version %s but found %s",
+                id, expectedVersion, current.get(0)));
+    }
+
+    @Override
+    @Transactional
+    public void delete(Long id) {
         String sql = "DELETE FROM Employee WHERE id = :id";
         MapSqlParameterSource parameters = new MapSqlParameterSource();
         parameters.addValue("id", id);
 
-        int rowsAffected = jdbcTemplate.update(sql, parameters);
+        // The cached row is the deleted state if the database still holds that version. Otherwise the
+        // row is read and locked first, so the event always carries the deleted state.
+        Employee previous = cachedEmployee(id);
+        int rowsAffected = 0;
+        if (previous != null) {
+            parameters.addValue("version", previous.getVersion());
+            rowsAffected = jdbcTemplate.update(sql + " AND version = :version", parameters);
+        }
         if (rowsAffected == 0) {
-            logger.error("Delete failed: no rows were affected for employee ID {}", id);
-            throw new DeleteFailedException(String.format("Failed to delete team with ID ", id));
+            previous = lockedEmployee(id).orElse(null);
+            if (previous == null) {
+                logger.error("Delete failed: Employee ID {} does not exist", id);
+                throw new RecordDoesNotExists(String.format("Employee with ID %s does not exists", id));
+            }
+            jdbcTemplate.update(sql, parameters);
         }
+        // Cached as "does not exist" once the transaction commits rather than evicted, so a slower
+        // getByIds that still read the row cannot fill it back in.
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES);
+        if (cache != null) {
+            new TransactionAwareCacheDecorator(cache).put(id, null);
+        }
+        eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.DELETED, id, null, previous));
     }
 
     @Override
-    public List<Employee> search(Long id, String name, Boolean isTeamLead, Integer idTeam) {
+    @ReplicaRead
+    public List<Employee> search(Long id, String name, SearchMode mode, Boolean isTeamLead, Integer idTeam) {
         MapSqlParameterSource parameters = new MapSqlParameterSource();
         StringBuilder sb = new StringBuilder();
         if (id != null) {
@@ -143,8 +422,8 @@ public class EmployeeRepositoryImpl implements EmployeeRepository {
         if (name != null) {
             if (sb.length() > 0)
                 sb.append(" AND ");
-            sb.append("LOWER(name) LIKE LOWER(:name)");
-            parameters.addValue("name", "%" + name.trim() + "%");
+            sb.append(mode.condition("name", "name"));
+            parameters.addValue("name", mode.parameterValue(name));
         }
         if (isTeamLead != null) {
             if (sb.length() > 0)
@@ -166,7 +445,28 @@ public class EmployeeRepositoryImpl implements EmployeeRepository {
         String where = sb.toString();
 
         String sql = String.format("SELECT * FROM Employee %s", where);
-        return jdbcTemplate.query(sql.toString(), parameters, this::employeeMapper);
+        List<Employee> employees = jdbcTemplate.query(sql.toString(), parameters, this::employeeMapper);
+        searchRows.record(employees.size());
+        return employees;
+    }
+
+    /**
+     * State before a write as far as the cache knows it, to be confirmed by a version-guarded statement.
+     * The cache annotations on update and delete only touch the entry after the method returns.
+     */
+    private Employee cachedEmployee(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES);
+        Cache.ValueWrapper cached = cache != null ? cache.get(id) : null;
+        return cached != null ? (Employee) cached.get() : null;
+    }
+
+    private DistributionSummary rowsSummary(MeterRegistry meterRegistry, String method) {
+        return DistributionSummary.builder(MetricsConfig.REPOSITORY_ROWS)
+                .description("Rows returned by a repository query")
+                .tag("class", EmployeeRepositoryImpl.class.getName())
+                .tag("method", method)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
     }
 
     private Employee employeeMapper(ResultSet rs, int rowNum) throws SQLException {
@@ -175,6 +475,7 @@ public class EmployeeRepositoryImpl implements EmployeeRepository {
         employee.setName(rs.getString("name"));
         employee.setIsTeamLead(rs.getBoolean("isTeamLead"));
         employee.setIdTeam(rs.getInt("idTeam"));
+        employee.setVersion(rs.getInt("version"));
         return employee;
     }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.employees.employees.repository.impl;
+
+import com.employees.employees.config.MetricsConfig;
+import com.employees.employees.entity.Change;
+import com.employees.employees.repository.ChangeLogRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link ChangeLogRepository} of the "memory" profile, a list ordered by sequence number.
+ */
+@Repository
+@Profile("memory")
+@Timed(value = MetricsConfig.REPOSITORY_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+public class InMemoryChangeLogRepository implements ChangeLogRepository {
+    // Guarded by this.
+    private final List<Change> changes = new ArrayList<>();
+    private long lastSeq;
+
+    @Override
+    public synchronized void append(List<Change> appended) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Change change : appended) {
+            changes.add(new Change(++lastSeq, change.getEntity(), change.getEntityId(), change.getType(),
+                    change.getVersion(), change.getPayload(), now));
+        }
+    }
+
+    @Override
+    public synchronized List<Change> getSince(long since, int limit, Duration settleTime) {
+        // Sequence numbers are taken and made visible under the same lock, so no lower one can show up
+        // later and the settle time is not needed here.
+        int from = positionAfter(since);
+        int to = Math.min(changes.size(), from + limit);
+        return new ArrayList<>(changes.subList(from, to));
+    }
+
+    @Override
+    public synchronized int deleteBefore(LocalDateTime cutoff, int limit) {
+        int count = 0;
+        while (count < changes.size() && count < limit && changes.get(count).getChangedAt().isBefore(cutoff)) {
+            count++;
+        }
+        changes.subList(0, count).clear();
+        return count;
+    }
+
+    private int positionAfter(long seq) {
+        int low = 0;
+        int high = changes.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (changes.get(middle).getSeq() <= seq) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,278 @@
+package com.employees.employees.repository.impl;
+
+import com.employees.employees.config.MetricsConfig;
+import com.employees.employees.entity.Employee;
+import com.employees.employees.event.ChangeType;
+import com.employees.employees.event.EmployeeChangedEvent;
+import com.employees.employees.exception.*;
+import com.employees.employees.memory.InMemoryStore;
+import com.employees.employees.repository.EmployeeRepository;
+import com.employees.employees.search.LongPostingList;
+import com.employees.employees.search.SearchMode;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * {@link EmployeeRepository} of the "memory" profile. Same contract as the JDBC repository, including
+ * its exceptions and events, but without a cache in front: the store itself answers in memory.
+ */
+@Repository
+@Profile("memory")
+@Timed(value = MetricsConfig.REPOSITORY_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+public class InMemoryEmployeeRepository implements EmployeeRepository {
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryEmployeeRepository.class);
+    private static final int STREAM_BATCH_SIZE = 1000;
+
+    private final InMemoryStore store;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public InMemoryEmployeeRepository(InMemoryStore store, ApplicationEventPublisher eventPublisher) {
+        this.store = store;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Employee create(Employee employee) {
+        Employee saved = copy(employee, 0);
+        store.write(() -> {
+            if (store.getLiveTeam(employee.getIdTeam()) == null) {
+                logger.error("Team with ID {} does not exist", employee.getIdTeam());
+                throw new RecordDoesNotExists(String.format("Team ID %s does not exist", employee.getIdTeam()));
+            }
+            if (store.getEmployee(employee.getId()) != null) {
+                logger.error("Employee creation failed: ID {} already exists", employee.getId());
+                throw new RecordAlreadyExistsException(String.format("Employee ID %s already exists", employee.getId()));
+            }
+            store.putEmployee(saved);
+            return saved;
+        });
+        eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.CREATED, saved.getId(), saved));
+        return saved;
+    }
+
+    @Override
+    public void createAll(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        List<Employee> saved = new ArrayList<>(employees.size());
+        employees.forEach(employee -> saved.add(copy(employee, 0)));
+        // All or nothing, like the batch insert in one transaction.
+        store.write(() -> {
+            Set<Long> ids = new HashSet<>();
+            for (Employee employee : saved) {
+                if (!ids.add(employee.getId()) || store.getEmployee(employee.getId()) != null) {
+                    logger.error("Batch employee creation failed: employee ID {} already exists", employee.getId());
+                    throw new RecordAlreadyExistsException("One or more employee IDs already exist");
+                }
+                if (store.getTeam(employee.getIdTeam()) == null) {
+                    logger.error("Batch employee creation failed: team ID {} does not exist", employee.getIdTeam());
+                    throw new RecordDoesNotExists(String.format("Team ID %s does not exist", employee.getIdTeam()));
+                }
+            }
+            saved.forEach(store::putEmployee);
+            return null;
+        });
+        employees.forEach(employee -> employee.setVersion(0));
+        saved.forEach(employee -> eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.CREATED, employee.getId(), employee)));
+    }
+
+    @Override
+    public Set<Long> getExistingIds(Collection<Long> ids) {
+        return store.read(() -> {
+            Set<Long> existing = new HashSet<>();
+            for (Long id : ids) {
+                if (store.getEmployee(id) != null) {
+                    existing.add(id);
+                }
+            }
+            return existing;
+        });
+    }
+
+    @Override
+    public List<Employee> getAll() {
+        return store.read(() -> {
+            LongPostingList ids = store.employeeIds();
+            List<Employee> employees = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                employees.add(store.getEmployee(ids.get(i)));
+            }
+            return employees;
+        });
+    }
+
+    @Override
+    public List<Employee> getPage(Long after, int limit) {
+        return store.read(() -> {
+            LongPostingList ids = store.employeeIds();
+            int from = after == null ? 0 : ids.positionAfter(after);
+            int to = Math.min(ids.size(), from + limit);
+            List<Employee> employees = new ArrayList<>(Math.max(0, to - from));
+            for (int i = from; i < to; i++) {
+                employees.add(store.getEmployee(ids.get(i)));
+            }
+            return employees;
+        });
+    }
+
+    @Override
+    public void streamAll(Consumer<Employee> consumer) {
+        // Batches are copied under the lock and handed to the consumer outside of it, so a slow
+        // export does not hold up writers.
+        Long after = null;
+        while (true) {
+            List<Employee> batch = getPage(after, STREAM_BATCH_SIZE);
+            batch.forEach(consumer);
+            if (batch.size() < STREAM_BATCH_SIZE) {
+                return;
+            }
+            after = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    @Override
+    public void export(Consumer<Employee> consumer) {
+        streamAll(consumer);
+    }
+
+    @Override
+    public Optional<Employee> getById(Long id) {
+        return Optional.ofNullable(store.read(() -> store.getEmployee(id)));
+    }
+
+    @Override
+    public List<Employee> getByIds(Collection<Long> ids) {
+        return store.read(() -> {
+            List<Employee> employees = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                Employee employee = store.getEmployee(id);
+                if (employee != null) {
+                    employees.add(employee);
+                }
+            }
+            return employees;
+        });
+    }
+
+    @Override
+    public Employee update(Long id, Employee employee) {
+        return merge(id, employee);
+    }
+
+    @Override
+    public Employee patch(Long id, Employee changes) {
+        // Every write replaces the record under the lock, so a patch is the same merge as an update.
+        return merge(id, changes);
+    }
+
+    private Employee merge(Long id, Employee changes) {
+        Employee[] previous = new Employee[1];
+        Employee updated = store.write(() -> {
+            if (changes.getIdTeam() != null && store.getLiveTeam(changes.getIdTeam()) == null) {
+                logger.error("Update failed: Team ID {} does not exist", changes.getIdTeam());
+                throw new RecordDoesNotExists(String.format("Team ID %s does not exist", changes.getIdTeam()));
+            }
+            Employee current = store.getEmployee(id);
+            if (current == null) {
+                logger.error("Update failed: Employee ID {} does not exist", id);
+                throw new RecordDoesNotExists(String.format("Employee ID %s does not exists", id));
+            }
+            if (changes.getVersion() != null && !changes.getVersion().equals(current.getVersion())) {
+                logger.warn("Update failed: Employee ID {} is at version {}, expected {}", id, current.getVersion(), changes.getVersion());
+                throw new VersionConflictException(String.format("Employee ID %s was modified concurrently, expected version %s but found %s",
+                        id, changes.getVersion(), current.getVersion()));
+            }
+            Employee merged = new Employee();
+            merged.setId(id);
+            merged.setName(changes.getName() != null ? changes.getName() : current.getName());
+            merged.setIsTeamLead(changes.getIsTeamLead() != null ? changes.getIsTeamLead() : current.getIsTeamLead());
+            merged.setIdTeam(changes.getIdTeam() != null ? changes.getIdTeam() : current.getIdTeam());
+            merged.setVersion(current.getVersion() + 1);
+            store.putEmployee(merged);
+            previous[0] = current;
+            return merged;
+        });
+        eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.UPDATED, id, updated, previous[0]));
+        return updated;
+    }
+
+    @Override
+    public void delete(Long id) {
+        Employee previous = store.write(() -> store.removeEmployee(id));
+        if (previous == null) {
+            logger.error("Delete failed: Employee ID {} does not exist", id);
+            throw new RecordDoesNotExists(String.format("Employee with ID %s does not exists", id));
+        }
+        eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.DELETED, id, null, previous));
+    }
+
+    @Override
+    public List<Employee> search(Long id, String name, SearchMode mode, Boolean isTeamLead, Integer idTeam) {
+        return store.read(() -> {
+            List<Employee> employees = new ArrayList<>();
+            if (id != null) {
+                Employee employee = store.getEmployee(id);
+                if (employee != null && matches(employee, name, mode, isTeamLead, idTeam)) {
+                    employees.add(employee);
+                }
+            } else if (idTeam != null || name == null || mode != SearchMode.PREFIX) {
+                // Narrowest id list at hand: the team's members, otherwise every employee.
+                LongPostingList ids = idTeam != null ? store.teamMembers(idTeam) : store.employeeIds();
+                for (int i = 0; ids != null && i < ids.size(); i++) {
+                    Employee employee = store.getEmployee(ids.get(i));
+                    if (matches(employee, name, mode, isTeamLead, null)) {
+                        employees.add(employee);
+                    }
+                }
+            } else {
+                // A prefix is a range of the sorted name index.
+                String prefix = SearchMode.fold(name.trim());
+                for (Map.Entry<String, LongPostingList> entry : store.employeesByName().tailMap(prefix, true).entrySet()) {
+                    if (!entry.getKey().startsWith(prefix)) {
+                        break;
+                    }
+                    LongPostingList ids = entry.getValue();
+                    for (int i = 0; i < ids.size(); i++) {
+                        Employee employee = store.getEmployee(ids.get(i));
+                        if (matches(employee, null, null, isTeamLead, null)) {
+                            employees.add(employee);
+                        }
+                    }
+                }
+                employees.sort(Comparator.comparing(Employee::getId));
+            }
+            return employees;
+        });
+    }
+
+    private static boolean matches(Employee employee, String name, SearchMode mode, Boolean isTeamLead, Integer idTeam) {
+        return (name == null || mode.matches(employee.getName(), name))
+                && (isTeamLead == null || isTeamLead.equals(employee.getIsTeamLead()))
+                && (idTeam == null || idTeam.equals(employee.getIdTeam()));
+    }
+
+    private static Employee copy(Employee employee, int version) {
+        Employee copy = new Employee();
+        copy.setId(employee.getId());
+        copy.setName(employee.getName());
+        copy.setIsTeamLead(employee.getIsTeamLead() != null ? employee.getIsTeamLead() : false);
+        copy.setIdTeam(employee.getIdTeam());
+        copy.setVersion(version);
+        return copy;
+    }
+}
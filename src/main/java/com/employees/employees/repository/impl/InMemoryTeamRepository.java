@@ -0,0 +1,230 @@
+package com.employees.employees.repository.impl;
+
+import com.employees.employees.config.MetricsConfig;
+import com.employees.employees.entity.Employee;
+import com.employees.employees.entity.Team;
+import com.employees.employees.entity.TeamStats;
+import com.employees.employees.entity.TeamWithMembers;
+import com.employees.employees.event.ChangeType;
+import com.employees.employees.event.TeamChangedEvent;
+import com.employees.employees.exception.*;
+import com.employees.employees.memory.InMemoryStore;
+import com.employees.employees.repository.TeamRepository;
+import com.employees.employees.search.LongPostingList;
+import com.employees.employees.search.SearchMode;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * {@link TeamRepository} of the "memory" profile. Deleted teams stay in the store flagged as deleted
+ * and keep their name taken, like the soft delete in the database.
+ */
+@Repository
+@Profile("memory")
+@Timed(value = MetricsConfig.REPOSITORY_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+public class InMemoryTeamRepository implements TeamRepository {
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryTeamRepository.class);
+
+    private final InMemoryStore store;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public InMemoryTeamRepository(InMemoryStore store, ApplicationEventPublisher eventPublisher) {
+        this.store = store;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Team create(String name) {
+        Team saved = store.write(() -> {
+            if (store.getTeamByName(name) != null) {
+                logger.error("Team creation failed: name '{}' already exists", name);
+                throw new RecordAlreadyExistsException(String.format("Team NAME %s already exists", name));
+            }
+            Team team = new Team();
+            team.setId(store.nextTeamId());
+            team.setName(name);
+            team.setIsDeleted(false);
+            team.setVersion(0);
+            store.putTeam(team);
+            return team;
+        });
+        eventPublisher.publishEvent(new TeamChangedEvent(ChangeType.CREATED, saved.getId(), saved));
+        return saved;
+    }
+
+    @Override
+    public List<Team> getAll() {
+        return store.read(() -> {
+            List<Team> teams = new ArrayList<>();
+            for (int id = 1; id <= store.lastTeamId(); id++) {
+                Team team = store.getLiveTeam(id);
+                if (team != null) {
+                    teams.add(team);
+                }
+            }
+            return Collections.unmodifiableList(teams);
+        });
+    }
+
+    @Override
+    public Optional<Team> getById(Integer id) {
+        return Optional.ofNullable(store.read(() -> store.getLiveTeam(id)));
+    }
+
+    @Override
+    public Optional<Team> getByName(String name) {
+        return Optional.ofNullable(store.read(() -> {
+            Team team = store.getTeamByName(name);
+            return team == null || Boolean.TRUE.equals(team.getIsDeleted()) ? null : team;
+        }));
+    }
+
+    @Override
+    public Optional<TeamWithMembers> getWithMembers(Integer id) {
+        return Optional.ofNullable(store.read(() -> {
+            Team team = store.getLiveTeam(id);
+            return team == null ? null : withMembers(team);
+        }));
+    }
+
+    @Override
+    public List<TeamWithMembers> getAllWithMembers() {
+        return store.read(() -> {
+            List<TeamWithMembers> teams = new ArrayList<>();
+            for (int id = 1; id <= store.lastTeamId(); id++) {
+                Team team = store.getLiveTeam(id);
+                if (team != null) {
+                    teams.add(withMembers(team));
+                }
+            }
+            return teams;
+        });
+    }
+
+    private TeamWithMembers withMembers(Team team) {
+        TeamWithMembers result = new TeamWithMembers();
+        result.setId(team.getId());
+        result.setName(team.getName());
+        LongPostingList members = store.teamMembers(team.getId());
+        for (int i = 0; members != null && i < members.size(); i++) {
+            Employee employee = store.getEmployee(members.get(i));
+            result.getMembers().add(employee);
+            if (result.getTeamLead() == null && Boolean.TRUE.equals(employee.getIsTeamLead())) {
+                result.setTeamLead(employee);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Set<Integer> getExistingIds(Collection<Integer> ids) {
+        return store.read(() -> {
+            Set<Integer> existing = new HashSet<>();
+            for (Integer id : ids) {
+                if (store.getLiveTeam(id) != null) {
+                    existing.add(id);
+                }
+            }
+            return existing;
+        });
+    }
+
+    @Override
+    public Team update(Integer id, Team team) {
+        Team updated = store.write(() -> {
+            Team current = store.getLiveTeam(id);
+            if (current == null) {
+                logger.error("Update failed: team with ID {} does not exist", id);
+                throw new RecordDoesNotExists(String.format("Team ID %s does not exist", id));
+            }
+            if (team.getVersion() != null && !team.getVersion().equals(current.getVersion())) {
+                logger.warn("Update failed: team with ID {} is at version {}, expected {}", id, current.getVersion(), team.getVersion());
+                throw new VersionConflictException(String.format("Team ID %s was modified concurrently, expected version %s but found %s",
+                        id, team.getVersion(), current.getVersion()));
+            }
+            Team named = store.getTeamByName(team.getName());
+            if (named != null && !named.getId().equals(id)) {
+                logger.error("Update failed: name '{}' already exists for another team", team.getName());
+                throw new RecordAlreadyExistsException(String.format("Team NAME %s already exists", team.getName()));
+            }
+            Team renamed = new Team();
+            renamed.setId(id);
+            renamed.setName(team.getName());
+            renamed.setIsDeleted(false);
+            renamed.setVersion(current.getVersion() + 1);
+            store.putTeam(renamed);
+            return renamed;
+        });
+        eventPublisher.publishEvent(new TeamChangedEvent(ChangeType.UPDATED, id, updated));
+        return updated;
+    }
+
+    @Override
+    public void delete(Integer id) {
+        store.write(() -> {
+            Team current = store.getLiveTeam(id);
+            if (current == null) {
+                logger.error("Delete failed: team with ID {} does not exist", id);
+                throw new RecordDoesNotExists(String.format("Team ID %s does not exists", id));
+            }
+            Team deleted = new Team();
+            deleted.setId(id);
+            deleted.setName(current.getName());
+            deleted.setIsDeleted(true);
+            deleted.setVersion(current.getVersion() + 1);
+            store.putTeam(deleted);
+            return deleted;
+        });
+        eventPublisher.publishEvent(new TeamChangedEvent(ChangeType.DELETED, id));
+    }
+
+    @Override
+    public List<Team> search(Integer id, String name, SearchMode mode) {
+        return store.read(() -> {
+            List<Team> teams = new ArrayList<>();
+            int from = id != null ? id : 1;
+            int to = id != null ? id : store.lastTeamId();
+            for (int teamId = from; teamId <= to; teamId++) {
+                Team team = store.getLiveTeam(teamId);
+                if (team != null && (name == null || mode.matches(team.getName(), name))) {
+                    teams.add(team);
+                }
+            }
+            return teams;
+        });
+    }
+
+    @Override
+    public List<TeamStats> getStats() {
+        return store.read(() -> {
+            List<TeamStats> stats = new ArrayList<>();
+            for (int id = 1; id <= store.lastTeamId(); id++) {
+                if (store.getLiveTeam(id) == null) {
+                    continue;
+                }
+                LongPostingList members = store.teamMembers(id);
+                int headcount = members == null ? 0 : members.size();
+                int leads = 0;
+                for (int i = 0; i < headcount; i++) {
+                    if (Boolean.TRUE.equals(store.getEmployee(members.get(i)).getIsTeamLead())) {
+                        leads++;
+                    }
+                }
+                stats.add(new TeamStats(id, headcount, leads, null));
+            }
+            return stats;
+        });
+    }
+}
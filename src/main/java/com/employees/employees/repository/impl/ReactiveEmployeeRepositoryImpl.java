@@ -0,0 +1,281 @@
+package com.employees.employees.repository.impl;
+
+import com.employees.employees.entity.Employee;
+import com.employees.employees.event.ChangeType;
+import com.employees.employees.event.EmployeeChangedEvent;
+import com.employees.employees.exception.RecordAlreadyExistsException;
+import com.employees.employees.exception.RecordDoesNotExists;
+import com.employees.employees.exception.VersionConflictException;
+import com.employees.employees.repository.ReactiveEmployeeRepository;
+import com.employees.employees.repository.ReactiveTeamRepository;
+import com.employees.employees.search.SearchMode;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeRepositoryImpl}, same statements and error semantics.
+ * Queries return rows as the driver decodes them and honour downstream demand, nothing is cached.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveEmployeeRepositoryImpl implements ReactiveEmployeeRepository {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveEmployeeRepositoryImpl.class);
+
+    private final DatabaseClient databaseClient;
+    private final ReactiveTeamRepository teamRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReactiveEmployeeRepositoryImpl(DatabaseClient databaseClient,
+                                          ReactiveTeamRepository teamRepository,
+                                          ApplicationEventPublisher eventPublisher) {
+        this.databaseClient = databaseClient;
+        this.teamRepository = teamRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Mono<Employee> create(Employee employee) {
+        String sql = "INSERT INTO Employee (id, name, isTeamLead, idTeam) " +
+                "SELECT :id, :name, :isTeamLead, id FROM Team WHERE id = :idTeam AND isDeleted = FALSE";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind("id", employee.getId())
+                .bind("name", employee.getName())
+                .bind("idTeam", employee.getIdTeam());
+        return bindNullable(spec, "isTeamLead", employee.getIsTeamLead(), Boolean.class)
+                .fetch()
+                .rowsUpdated()
+                // Integrity violations are not narrowed down to duplicate keys here, the id is the only unique key.
+                .onErrorMap(DataIntegrityViolationException.class, e -> {
+                    logger.error("Employee creation failed: ID {} already exists", employee.getId());
+                    return new RecordAlreadyExistsException(String.format("Employee ID %s already exists", employee.getId()));
+                })
+                .flatMap(rowsAffected -> {
+                    if (rowsAffected == 0) {
+                        logger.error("Team with ID {} does not exist", employee.getIdTeam());
+                        return Mono.error(new RecordDoesNotExists(String.format("Team ID %s does not exist", employee.getIdTeam())));
+                    }
+                    employee.setVersion(0);
+                    eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.CREATED, employee.getId(), employee));
+                    return Mono.just(employee);
+                });
+    }
+
+    @Override
+    public Mono<Void> createAll(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return Mono.empty();
+        }
+        // One statement with a binding per row, sent as a single batch. Runs on the connection of the
+        // caller's transaction when there is one.
+        String sql = "INSERT INTO Employee (id, name, isTeamLead, idTeam) VALUES (?, ?, ?, ?)";
+        return databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(sql);
+                    for (int i = 0; i < employees.size(); i++) {
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        Employee employee = employees.get(i);
+                        statement.bind(0, employee.getId()).bind(1, employee.getName()).bind(3, employee.getIdTeam());
+                        if (employee.getIsTeamLead() == null) {
+                            statement.bindNull(2, Boolean.class);
+                        } else {
+                            statement.bind(2, employee.getIsTeamLead());
+                        }
+                    }
+                    return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+                })
+                .onErrorMap(R2dbcDataIntegrityViolationException.class, e -> {
+                    logger.error("Batch employee creation failed: an employee ID was created concurrently", e);
+                    return new RecordAlreadyExistsException("One or more employee IDs already exist");
+                })
+                .then(Mono.fromRunnable(() -> employees.forEach(employee -> {
+                    employee.setVersion(0);
+                    eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.CREATED, employee.getId(), employee));
+                })));
+    }
+
+    @Override
+    public Flux<Long> getExistingIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql("SELECT id FROM Employee WHERE id IN (:ids)")
+                .bind("ids", ids)
+                .map(row -> row.get("id", Long.class))
+                .all();
+    }
+
+    @Override
+    public Flux<Employee> getAll() {
+        return databaseClient.sql("SELECT * FROM Employee ORDER BY id")
+                .map(this::employeeMapper)
+                .all();
+    }
+
+    @Override
+    public Flux<Employee> getPage(Long after, int limit) {
+        if (after == null) {
+            return databaseClient.sql("SELECT * FROM Employee ORDER BY id LIMIT :limit")
+                    .bind("limit", limit)
+                    .map(this::employeeMapper)
+                    .all();
+        }
+        return databaseClient.sql("SELECT * FROM Employee WHERE id > :after ORDER BY id LIMIT :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(this::employeeMapper)
+                .all();
+    }
+
+    @Override
+    public Mono<Employee> getById(Long id) {
+        return databaseClient.sql("SELECT * FROM Employee WHERE id = :id")
+                .bind("id", id)
+                .map(this::employeeMapper)
+                .one();
+    }
+
+    @Override
+    public Mono<Employee> update(Long id, Employee employee) {
+        StringBuilder sql = new StringBuilder("UPDATE Employee SET name = COALESCE(:name, name), " +
+                "isTeamLead = COALESCE(:isTeamLead, isTeamLead), idTeam = COALESCE(:idTeam, idTeam), " +
+                "version = version + 1 WHERE id = :id");
+        if (employee.getVersion() != null) {
+            sql.append(" AND version = :version");
+        }
+        if (employee.getIdTeam() != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM Team WHERE id = :idTeam AND isDeleted = FALSE)");
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString()).bind("id", id);
+        spec = bindNullable(spec, "name", employee.getName(), String.class);
+        spec = bindNullable(spec, "isTeamLead", employee.getIsTeamLead(), Boolean.class);
+        spec = bindNullable(spec, "idTeam", employee.getIdTeam(), Integer.class);
+        if (employee.getVersion() != null) {
+            spec = spec.bind("version", employee.getVersion());
+        }
+
+        return spec.fetch()
+                .rowsUpdated()
+                .flatMap(rowsAffected -> {
+                    if (rowsAffected == 0) {
+                        return updateFailure(id, employee);
+                    }
+                    if (employee.getVersion() != null && employee.getName() != null
+                            && employee.getIsTeamLead() != null && employee.getIdTeam() != null) {
+                        // The statement matched the expected version, so the row now holds exactly these values.
+                        Employee updated = new Employee();
+                        updated.setId(id);
+                        updated.setName(employee.getName());
+                        updated.setIsTeamLead(employee.getIsTeamLead());
+                        updated.setIdTeam(employee.getIdTeam());
+                        updated.setVersion(employee.getVersion() + 1);
+                        return Mono.just(updated);
+                    }
+                    // Otherwise only the database knows the merged row and its new version.
+                    return getById(id)
+                            .switchIfEmpty(Mono.error(() -> new RecordDoesNotExists(String.format("Employee ID %s does not exists", id))));
+                })
+                .doOnNext(updated -> eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.UPDATED, id, updated)));
+    }
+
+    @Override
+    public Mono<Void> delete(Long id) {
+        return databaseClient.sql("DELETE FROM Employee WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(rowsAffected -> {
+                    if (rowsAffected == 0) {
+                        logger.error("Delete failed: Employee ID {} does not exist", id);
+                        return Mono.error(new RecordDoesNotExists(String.format("Employee with ID %s does not exists", id)));
+                    }
+                    eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.DELETED, id, null));
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public Flux<Employee> search(Long id, String name, SearchMode mode, Boolean isTeamLead, Integer idTeam) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        StringBuilder sb = new StringBuilder();
+        if (id != null) {
+            sb.append(" AND id = :id");
+            parameters.put("id", id);
+        }
+        if (name != null) {
+            sb.append(" AND ").append(mode.condition("name", "name"));
+            parameters.put("name", mode.parameterValue(name));
+        }
+        if (isTeamLead != null) {
+            sb.append(" AND isTeamLead = :isTeamLead");
+            parameters.put("isTeamLead", isTeamLead);
+        }
+        if (idTeam != null) {
+            sb.append(" AND idTeam = :idTeam");
+            parameters.put("idTeam", idTeam);
+        }
+
+        String where = sb.length() > 0 ? "WHERE " + sb.substring(" AND ".length()) : "";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(String.format("SELECT * FROM Employee %s", where));
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec.map(this::employeeMapper).all();
+    }
+
+    private <T> Mono<T> updateFailure(Long id, Employee employee) {
+        // Only the failure path pays for finding out why the statement did not match.
+        Mono<Boolean> teamExists = employee.getIdTeam() == null
+                ? Mono.just(true)
+                : teamRepository.getById(employee.getIdTeam()).hasElement();
+        return teamExists.flatMap(exists -> {
+            if (!exists) {
+                logger.error("Update failed: Team ID {} does not exist", employee.getIdTeam());
+                return Mono.error(new RecordDoesNotExists(String.format("Team ID %s does not exist", employee.getIdTeam())));
+            }
+            return databaseClient.sql("SELECT version FROM Employee WHERE id = :id")
+                    .bind("id", id)
+                    .map(row -> row.get("version", Integer.class))
+                    .one()
+                    .flatMap(current -> {
+                        logger.warn("Update failed: Employee ID {} is at version {}, expected {}", id, current, employee.getVersion());
+                        return Mono.<T>error(new VersionConflictException(String.format(
+                                "Employee ID %s was modified concurrently, expected version %s but found %s", id, employee.getVersion(), current)));
+                    })
+                    .switchIfEmpty(Mono.defer(() -> {
+                        logger.error("Update failed: Employee ID {} does not exist", id);
+                        return Mono.error(new RecordDoesNotExists(String.format("Employee ID %s does not exists", id)));
+                    }));
+        });
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+
+    private Employee employeeMapper(Row row) {
+        Employee employee = new Employee();
+        employee.setId(row.get("id", Long.class));
+        employee.setName(row.get("name", String.class));
+        employee.setIsTeamLead(row.get("isTeamLead", Boolean.class));
+        employee.setIdTeam(row.get("idTeam", Integer.class));
+        employee.setVersion(row.get("version", Integer.class));
+        return employee;
+    }
+}
@@ -0,0 +1,179 @@
+package com.employees.employees.repository.impl;
+
+import com.employees.employees.entity.Team;
+import com.employees.employees.exception.CreateFailedException;
+import com.employees.employees.exception.RecordAlreadyExistsException;
+import com.employees.employees.exception.RecordDoesNotExists;
+import com.employees.employees.exception.VersionConflictException;
+import com.employees.employees.repository.ReactiveTeamRepository;
+import com.employees.employees.search.SearchMode;
+import io.r2dbc.spi.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Repository
+@Profile("reactive")
+public class ReactiveTeamRepositoryImpl implements ReactiveTeamRepository {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveTeamRepositoryImpl.class);
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveTeamRepositoryImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Mono<Team> create(String name) {
+        return databaseClient.sql("INSERT INTO Team (name) VALUES (:name)")
+                .bind("name", name)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> (Number) row.get("id"))
+                .one()
+                // The driver reports unique violations as plain integrity violations, the name is the only unique key.
+                .onErrorMap(DataIntegrityViolationException.class, e -> {
+                    logger.error("Team creation failed: name '{}' already exists", name);
+                    return new RecordAlreadyExistsException(String.format("Team NAME %s already exists", name));
+                })
+                .switchIfEmpty(Mono.error(() -> {
+                    logger.error("Team creation failed: no rows were affected");
+                    return new CreateFailedException("Create failed: no rows were affected");
+                }))
+                .map(id -> {
+                    Team saved = new Team();
+                    saved.setId(id.intValue());
+                    saved.setName(name);
+                    saved.setIsDeleted(false);
+                    saved.setVersion(0);
+                    return saved;
+                });
+    }
+
+    @Override
+    public Flux<Team> getAll() {
+        return databaseClient.sql("SELECT * FROM Team WHERE isDeleted = FALSE")
+                .map(this::teamMapper)
+                .all();
+    }
+
+    @Override
+    public Mono<Team> getById(Integer id) {
+        return databaseClient.sql("SELECT * FROM Team WHERE isDeleted = FALSE AND id = :id")
+                .bind("id", id)
+                .map(this::teamMapper)
+                .one();
+    }
+
+    @Override
+    public Flux<Integer> getExistingIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql("SELECT id FROM Team WHERE isDeleted = FALSE AND id IN (:ids)")
+                .bind("ids", ids)
+                .map(row -> row.get("id", Integer.class))
+                .all();
+    }
+
+    @Override
+    public Mono<Team> update(Integer id, Team team) {
+        DatabaseClient.GenericExecuteSpec spec;
+        if (team.getVersion() != null) {
+            spec = databaseClient.sql("UPDATE Team SET name = :name, version = version + 1 " +
+                            "WHERE id = :id AND isDeleted = FALSE AND version = :version")
+                    .bind("version", team.getVersion());
+        } else {
+            spec = databaseClient.sql("UPDATE Team SET name = :name, version = version + 1 WHERE id = :id AND isDeleted = FALSE");
+        }
+        return spec.bind("name", team.getName())
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .onErrorMap(DataIntegrityViolationException.class, e -> {
+                    logger.error("Update failed: name '{}' already exists for another team", team.getName());
+                    return new RecordAlreadyExistsException(String.format("Team NAME %s already exists", team.getName()));
+                })
+                .flatMap(rowsAffected -> {
+                    Mono<Integer> current = databaseClient.sql("SELECT version FROM Team WHERE id = :id AND isDeleted = FALSE")
+                            .bind("id", id)
+                            .map(row -> row.get("version", Integer.class))
+                            .one();
+                    if (rowsAffected == 0) {
+                        return current
+                                .flatMap(version -> {
+                                    logger.warn("Update failed: team with ID {} is at version {}, expected {}", id, version, team.getVersion());
+                                    return Mono.<Team>error(new VersionConflictException(String.format(
+                                            "Team ID %s was modified concurrently, expected version %s but found %s", id, team.getVersion(), version)));
+                                })
+                                .switchIfEmpty(Mono.defer(() -> {
+                                    logger.error("Update failed: team with ID {} does not exist", id);
+                                    return Mono.error(new RecordDoesNotExists(String.format("Team ID %s does not exist", id)));
+                                }));
+                    }
+                    Mono<Integer> newVersion = team.getVersion() != null ? Mono.just(team.getVersion() + 1) : current;
+                    return newVersion
+                            .map(version -> {
+                                Team updated = new Team();
+                                updated.setId(id);
+                                updated.setName(team.getName());
+                                updated.setIsDeleted(false);
+                                updated.setVersion(version);
+                                return updated;
+                            });
+                });
+    }
+
+    @Override
+    public Mono<Void> delete(Integer id) {
+        return databaseClient.sql("UPDATE Team SET isDeleted = TRUE, version = version + 1 WHERE id = :id AND isDeleted = FALSE")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(rowsAffected -> {
+                    if (rowsAffected == 0) {
+                        logger.error("Delete failed: team with ID {} does not exist", id);
+                        return Mono.error(new RecordDoesNotExists(String.format("Team ID %s does not exists", id)));
+                    }
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public Flux<Team> search(Integer id, String name, SearchMode mode) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        StringBuilder sb = new StringBuilder("WHERE isDeleted = FALSE");
+
+        if (id != null) {
+            sb.append(" AND id = :id");
+            parameters.put("id", id);
+        }
+        if (name != null) {
+            sb.append(" AND ").append(mode.condition("name", "name"));
+            parameters.put("name", mode.parameterValue(name));
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(String.format("SELECT * FROM Team %s", sb));
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec.map(this::teamMapper).all();
+    }
+
+    private Team teamMapper(Row row) {
+        Team team = new Team();
+        team.setId(row.get("id", Integer.class));
+        team.setName(row.get("name", String.class));
+        team.setIsDeleted(row.get("isDeleted", Boolean.class));
+        team.setVersion(row.get("version", Integer.class));
+        return team;
+    }
+}
@@ -1,47 +1,82 @@
 package com.employees.employees.repository.impl;
 
+import com.employees.employees.config.CacheConfig;
+import com.employees.employees.config.MetricsConfig;
+import com.employees.employees.entity.Employee;
 import com.employees.employees.entity.Team;
+import com.employees.employees.entity.TeamStats;
+import com.employees.employees.entity.TeamWithMembers;
+import com.employees.employees.event.ChangeType;
+import com.employees.employees.event.TeamChangedEvent;
 import com.employees.employees.exception.*;
 import com.employees.employees.repository.TeamRepository;
+import com.employees.employees.routing.ReplicaRead;
+import com.employees.employees.search.SearchMode;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
+@Profile("!reactive & !memory")
+@Timed(value = MetricsConfig.REPOSITORY_TIMER, percentiles = {0.5, 0.99}, histogram = true)
 public class TeamRepositoryImpl implements TeamRepository {
     private static final Logger logger = LoggerFactory.getLogger(TeamRepositoryImpl.class);
 
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DistributionSummary getAllRows;
+    private final DistributionSummary searchRows;
+    private final DistributionSummary withMembersRows;
 
-    public TeamRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+    public TeamRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
         this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.getAllRows = rowsSummary(meterRegistry, "getAll");
+        this.searchRows = rowsSummary(meterRegistry, "search");
+        this.withMembersRows = rowsSummary(meterRegistry, "withMembers");
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.TEAMS, CacheConfig.TEAMS_BY_ID, CacheConfig.TEAMS_BY_NAME}, allEntries = true)
+    @Transactional
     public Team create(String name) {
-        Optional<Team> teamDtoOptional = getByName(name);
-        if (teamDtoOptional.isPresent()) {
-            logger.error("Team creation failed: name '{}' already exists", name);
-            throw new RecordAlreadyExistsException(String.format("Team NAME %s already exists", name));
-        }
-
         String sql = "INSERT INTO Team (name) VALUES (:name)";
         MapSqlParameterSource parameters = new MapSqlParameterSource();
         parameters.addValue("name", name);
 
         KeyHolder keyHolder = new GeneratedKeyHolder();
 
-        int rowsAffected = jdbcTemplate.update(sql, parameters, keyHolder);
+        int rowsAffected;
+        try {
+            rowsAffected = jdbcTemplate.update(sql, parameters, keyHolder);
+        } catch (DuplicateKeyException e) {
+            logger.error("Team creation failed: name '{}' already exists", name);
+            throw new RecordAlreadyExistsException(String.format("Team NAME %s already exists", name));
+        }
         if (rowsAffected == 0) {
             logger.error("Team creation failed: no rows were affected");
             throw new CreateFailedException("Create failed: no rows were affected");
@@ -52,16 +87,23 @@ public class TeamRepositoryImpl implements TeamRepository {
         Team saved = new Team();
         saved.setId(generatedKey);
         saved.setName(name);
+        saved.setIsDeleted(false);
+        saved.setVersion(0);
+        eventPublisher.publishEvent(new TeamChangedEvent(ChangeType.CREATED, generatedKey, saved));
         return saved;
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.TEAMS, key = "'all'")
     public List<Team> getAll() {
         String sql = "SELECT * from Team WHERE isDeleted = FALSE";
-        return jdbcTemplate.query(sql, this::teamDtoMapper);
+        List<Team> teams = jdbcTemplate.query(sql, this::teamDtoMapper);
+        getAllRows.record(teams.size());
+        return Collections.unmodifiableList(teams);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.TEAMS_BY_ID)
     public Optional<Team> getById(Integer id) {
         String sql = "SELECT * FROM Team WHERE isDeleted = FALSE AND id = :id";
         MapSqlParameterSource parameters = new MapSqlParameterSource();
@@ -70,12 +112,13 @@ public class TeamRepositoryImpl implements TeamRepository {
             Team team = jdbcTemplate.queryForObject(sql, parameters, this::teamDtoMapper);
             return Optional.of(team);
         } catch (EmptyResultDataAccessException e) {
-            logger.warn("No team found with ID: {}", id);
+            logger.debug("No team found with ID: {}", id);
             return Optional.empty();
         }
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.TEAMS_BY_NAME)
     public Optional<Team> getByName(String name) {
         String sql = "SELECT * FROM Team WHERE isDeleted = FALSE AND name = :name";
         MapSqlParameterSource parameters = new MapSqlParameterSource();
@@ -84,60 +127,136 @@ public class TeamRepositoryImpl implements TeamRepository {
             Team team = jdbcTemplate.queryForObject(sql, parameters, this::teamDtoMapper);
             return Optional.of(team);
         } catch (EmptyResultDataAccessException e) {
-            logger.warn("No team found with name: {}", name);
+            logger.debug("No team found with name: {}", name);
             return Optional.empty();
         }
     }
 
     @Override
-    public Team update(Integer id, Team team) {
-        Optional<Team> teamById = getById(id);
-        if (!teamById.isPresent()) {
-            logger.error("Update failed: team with ID {} does not exist", id);
-            throw new RecordDoesNotExists(String.format("Team ID %s does not exist", id));
-        }
+    @ReplicaRead
+    public Optional<TeamWithMembers> getWithMembers(Integer id) {
+        List<TeamWithMembers> teams = queryWithMembers("AND t.id = :id", new MapSqlParameterSource("id", id));
+        return teams.stream().findFirst();
+    }
 
-        Optional<Team> teamByName = getByName(team.getName());
-        if (teamByName.isPresent() && !teamByName.get().getId().equals(id)) {
-            logger.error("Update failed: name '{}' already exists for another team", team.getName());
-            throw new RecordAlreadyExistsException(String.format("Team NAME %s already exists", team.getName()));
+    @Override
+    @ReplicaRead
+    public List<TeamWithMembers> getAllWithMembers() {
+        return queryWithMembers("", new MapSqlParameterSource());
+    }
+
+    /**
+     * One LEFT JOIN over the idTeam foreign key, ordered so each team's rows are adjacent and the
+     * teams can be assembled in a single pass. Teams without members come back with an empty list.
+     */
+    private List<TeamWithMembers> queryWithMembers(String condition, MapSqlParameterSource parameters) {
+        String sql = "SELECT t.id AS teamId, t.name AS teamName, e.id, e.name, e.isTeamLead, e.version " +
+                "FROM Team t LEFT JOIN Employee e ON e.idTeam = t.id " +
+                "WHERE t.isDeleted = FALSE " + condition + " ORDER BY t.id, e.id";
+        List<TeamWithMembers> teams = new ArrayList<>();
+        int[] rows = {0};
+        jdbcTemplate.query(sql, parameters, rs -> {
+            rows[0]++;
+            int teamId = rs.getInt("teamId");
+            TeamWithMembers team = teams.isEmpty() ? null : teams.get(teams.size() - 1);
+            if (team == null || team.getId() != teamId) {
+                team = new TeamWithMembers();
+                team.setId(teamId);
+                team.setName(rs.getString("teamName"));
+                teams.add(team);
+            }
+            long employeeId = rs.getLong("id");
+            if (rs.wasNull()) {
+                return;
+            }
+            Employee employee = new Employee();
+            employee.setId(employeeId);
+            employee.setName(rs.getString("name"));
+            employee.setIsTeamLead(rs.getBoolean("isTeamLead"));
+            employee.setIdTeam(teamId);
+            employee.setVersion(rs.getInt("version"));
+            team.getMembers().add(employee);
+            if (team.getTeamLead() == null && Boolean.TRUE.equals(employee.getIsTeamLead())) {
+                team.setTeamLead(employee);
+            }
+        });
+        withMembersRows.record(rows[0]);
+        return teams;
+    }
+
+    @Override
+    public Set<Integer> getExistingIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return new HashSet<>();
         }
+        String sql = "SELECT id FROM Team WHERE isDeleted = FALSE AND id IN (:ids)";
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        parameters.addValue("ids", ids);
+        return new HashSet<>(jdbcTemplate.queryForList(sql, parameters, Integer.class));
+    }
 
-        String sql = "UPDATE Team SET name = :name WHERE id = :id";
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.TEAMS, CacheConfig.TEAMS_BY_ID, CacheConfig.TEAMS_BY_NAME}, allEntries = true)
+    @Transactional
+    public Team update(Integer id, Team team) {
+        String sql = "UPDATE Team SET name = :name, version = version + 1 WHERE id = :id AND isDeleted = FALSE";
+        if (team.getVersion() != null) {
+            sql += " AND version = :version";
+        }
         MapSqlParameterSource parameters = new MapSqlParameterSource();
         parameters.addValue("name", team.getName());
+        parameters.addValue("version", team.getVersion());
         parameters.addValue("id", id);
-        int rowsAffected = jdbcTemplate.update(sql, parameters);
+
+        int rowsAffected;
+        try {
+            rowsAffected = jdbcTemplate.update(sql, parameters);
+        } catch (DuplicateKeyException e) {
+            logger.error("Update failed: name '{}' already exists for another team", team.getName());
+            throw new RecordAlreadyExistsException(String.format("Team NAME %s already exists", team.getName()));
+        }
         if (rowsAffected == 0) {
-            logger.error("Update failed: no rows were affected for team ID {}", id);
-            throw new UpdateFailedException(String.format("Failed to update team with ID ", id));
+            List<Integer> current = jdbcTemplate.queryForList(
+                    "SELECT version FROM Team WHERE id = :id AND isDeleted = FALSE", parameters, Integer.class);
+            if (current.isEmpty()) {
+                logger.error("Update failed: team with ID {} does not exist", id);
+                throw new RecordDoesNotExists(String.format("Team ID %s does not exist", id));
+            }
+            logger.warn("Update failed: team with ID {} is at version {}, expected {}", id, current.get(0), team.getVersion());
+            throw new VersionConflictException(String.format("Team ID %s was modified concurrently, expected version %s but found %s",
+                    id, team.getVersion(), current.get(0)));
         }
-        return getById(id)
-                .orElseThrow(() -> new RecordDoesNotExists(String.format("Team ID %s already exists", id)));
+
+        Team updated = new Team();
+        updated.setId(id);
+        updated.setName(team.getName());
+        updated.setIsDeleted(false);
+        updated.setVersion(team.getVersion() != null
+                ? team.getVersion() + 1
+                : jdbcTemplate.queryForObject("SELECT version FROM Team WHERE id = :id", parameters, Integer.class));
+        eventPublisher.publishEvent(new TeamChangedEvent(ChangeType.UPDATED, id, updated));
+        return updated;
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.TEAMS, CacheConfig.TEAMS_BY_ID, CacheConfig.TEAMS_BY_NAME}, allEntries = true)
+    @Transactional
     public void delete(Integer id) {
-        Optional<Team> teamOptional = getById(id);
-        if (!teamOptional.isPresent()) {
-            logger.error("Delete failed: team with ID {} does not exist", id);
-            throw new RecordDoesNotExists(String.format("Team ID %s does not exists", id));
-        }
-
-        String sql = "UPDATE Team SET isDeleted = TRUE WHERE id = :id";
+        String sql = "UPDATE Team SET isDeleted = TRUE, version = version + 1 WHERE id = :id AND isDeleted = FALSE";
         MapSqlParameterSource parameters = new MapSqlParameterSource();
         parameters.addValue("id", id);
-        jdbcTemplate.update(sql, parameters);
 
         int rowsAffected = jdbcTemplate.update(sql, parameters);
         if (rowsAffected == 0) {
-            logger.error("Delete failed: no rows were affected for team ID {}", id);
-            throw new DeleteFailedException(String.format("Failed to delete team with ID ", id));
+            logger.error("Delete failed: team with ID {} does not exist", id);
+            throw new RecordDoesNotExists(String.format("Team ID %s does not exists", id));
         }
+        eventPublisher.publishEvent(new TeamChangedEvent(ChangeType.DELETED, id));
     }
 
     @Override
-    public List<Team> search(Integer id, String name) {
+    @ReplicaRead
+    public List<Team> search(Integer id, String name, SearchMode mode) {
         MapSqlParameterSource parameters = new MapSqlParameterSource();
         StringBuilder sb = new StringBuilder("WHERE isDeleted = FALSE");
 
@@ -146,14 +265,33 @@ public class TeamRepositoryImpl implements TeamRepository {
             parameters.addValue("id", id);
         }
         if (name != null) {
-            sb.append(" AND LOWER(name) LIKE LOWER(:name)");
-            parameters.addValue("name", "%" + name.trim() + "%");
+            sb.append(" AND ").append(mode.condition("name", "name"));
+            parameters.addValue("name", mode.parameterValue(name));
         }
 
         String where = sb.toString();
 
         String sql = String.format("SELECT * FROM Team %s", where);
-        return jdbcTemplate.query(sql.toString(), parameters, this::teamDtoMapper);
+        List<Team> teams = jdbcTemplate.query(sql.toString(), parameters, this::teamDtoMapper);
+        searchRows.record(teams.size());
+        return teams;
+    }
+
+    @Override
+    public List<TeamStats> getStats() {
+        String sql = "SELECT t.id, COUNT(e.id) AS headcount, COALESCE(SUM(e.isTeamLead), 0) AS leads " +
+                "FROM Team t LEFT JOIN Employee e ON e.idTeam = t.id WHERE t.isDeleted = FALSE GROUP BY t.id";
+        return jdbcTemplate.query(sql, (rs, rowNum) ->
+                new TeamStats(rs.getInt("id"), rs.getInt("headcount"), rs.getInt("leads"), null));
+    }
+
+    private DistributionSummary rowsSummary(MeterRegistry meterRegistry, String method) {
+        return DistributionSummary.builder(MetricsConfig.REPOSITORY_ROWS)
+                .description("Rows returned by a repository query")
+                .tag("class", TeamRepositoryImpl.class.getName())
+                .tag("method", method)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
     }
 
     private Team teamDtoMapper(ResultSet rs, int rowNum) throws SQLException {
@@ -161,6 +299,7 @@ public class TeamRepositoryImpl implements TeamRepository {
         team.setId(rs.getInt("id"));
         team.setName(rs.getString("name"));
         team.setIsDeleted(rs.getBoolean("isDeleted"));
+        team.setVersion(rs.getInt("version"));
         return team;
     }
 }
\ No newline at end of file
@@ -0,0 +1,580 @@
+package com.employees.employees.repository.impl;
+
+import com.employees.employees.config.CacheConfig;
+import com.employees.employees.config.MetricsConfig;
+import com.employees.employees.entity.Employee;
+import com.employees.employees.event.ChangeType;
+import com.employees.employees.event.EmployeeChangedEvent;
+import com.employees.employees.exception.*;
+import com.employees.employees.repository.EmployeeRepository;
+import com.employees.employees.repository.TeamRepository;
+import com.employees.employees.search.SearchMode;
+import com.employees.employees.writebehind.JournalRecord;
+import com.employees.employees.writebehind.WriteBehindJournal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Opt-in write-behind for employee updates (employees.write-behind.enabled). An update or patch is
+ * checked against the current row on the primary, then acknowledged as soon as the new row is in the
+ * local journal on disk. Pending rows are coalesced per employee and written to MySQL in batches by
+ * {@link #flush()}; the change events are published there, in the flush transaction, so the change
+ * log still commits together with the table. Until then every read of this repository sees the
+ * pending rows. After a crash the journal is replayed on startup.
+ * <p>
+ * The flush only writes a row while the database still holds the version the update was checked
+ * against and the team is not deleted. Rows that no longer apply, e.g. of an employee deleted in the
+ * meantime, are dropped, logged and counted as employees.writebehind.rejected.
+ * <p>
+ * Everything else goes straight to {@link EmployeeRepositoryImpl}. Pending rows are local to this
+ * node, and reads that bypass this repository (team members, statistics, the name index) see a
+ * change once it is flushed.
+ */
+@Repository
+@Primary
+@Profile("!reactive & !memory")
+@ConditionalOnProperty(name = "employees.write-behind.enabled", havingValue = "true")
+@Timed(value = MetricsConfig.REPOSITORY_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+public class WriteBehindEmployeeRepository implements EmployeeRepository {
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindEmployeeRepository.class);
+    private static final int COMPACT_MIN_RECORDS = 10_000;
+
+    private final EmployeeRepositoryImpl delegate;
+    private final TeamRepository teamRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final WriteBehindJournal journal;
+    private final int batchSize;
+    private final int maxPending;
+    private final Counter flushed;
+    private final Counter rejected;
+    // Guarded by this, like every journal append. Insertion ordered, so the oldest rows flush first.
+    private final LinkedHashMap<Long, Pending> pending = new LinkedHashMap<>();
+
+    public WriteBehindEmployeeRepository(EmployeeRepositoryImpl delegate,
+                                         TeamRepository teamRepository,
+                                         NamedParameterJdbcTemplate jdbcTemplate,
+                                         PlatformTransactionManager transactionManager,
+                                         ApplicationEventPublisher eventPublisher,
+                                         CacheManager cacheManager,
+                                         ObjectMapper objectMapper,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${employees.write-behind.journal:data/employee-updates.journal}") Path journalPath,
+                                         @Value("${employees.write-behind.batch-size:1000}") int batchSize,
+                                         @Value("${employees.write-behind.max-pending:100000}") int maxPending) {
+        this.delegate = delegate;
+        this.teamRepository = teamRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.journal = new WriteBehindJournal(journalPath, objectMapper);
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.flushed = Counter.builder("employees.writebehind.flushed")
+                .description("Employee rows written to the database by the write-behind flush")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("employees.writebehind.rejected")
+                .description("Acknowledged employee updates dropped by the flush because the row or its team changed")
+                .register(meterRegistry);
+        Gauge.builder("employees.writebehind.pending", this, WriteBehindEmployeeRepository::getPendingCount)
+                .description("Acknowledged employee updates not yet written to the database")
+                .register(meterRegistry);
+        replay();
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    private void replay() {
+        // Reads see the replayed rows right away, the first flush writes them. The state they replaced
+        // is read by that flush.
+        for (JournalRecord record : journal.readAll()) {
+            if (Boolean.TRUE.equals(record.getDeleted())) {
+                pending.remove(record.getId());
+            } else if (Boolean.TRUE.equals(record.getFlushed())) {
+                Pending current = pending.get(record.getId());
+                if (current != null && current.employee.getVersion() <= record.getVersion()) {
+                    pending.remove(record.getId());
+                } else if (current != null) {
+                    pending.put(record.getId(), new Pending(current.employee, null, record.getVersion()));
+                }
+            } else {
+                pending.remove(record.getId());
+                pending.put(record.getId(), new Pending(toEmployee(record), null, baseVersion(record)));
+            }
+        }
+        if (!pending.isEmpty()) {
+            logger.warn("Replaying {} employee updates from the write-behind journal", pending.size());
+        }
+    }
+
+    @Override
+    @CachePut(cacheNames = CacheConfig.EMPLOYEES, key = "#id")
+    public Employee update(Long id, Employee employee) {
+        return write(id, employee);
+    }
+
+    @Override
+    @CachePut(cacheNames = CacheConfig.EMPLOYEES, key = "#id")
+    public Employee patch(Long id, Employee changes) {
+        // Null fields keep their value either way, so a patch is the same merge as an update.
+        return write(id, changes);
+    }
+
+    private Employee write(Long id, Employee changes) {
+        if (changes.getIdTeam() != null && !teamRepository.getById(changes.getIdTeam()).isPresent()) {
+            logger.error("Update failed: Team ID {} does not exist", changes.getIdTeam());
+            throw new RecordDoesNotExists(String.format("Team ID %s does not exist", changes.getIdTeam()));
+        }
+        // Without a pending row the update is checked against the primary, not the cache or a replica,
+        // which may be behind. Read outside the lock; a row that became pending meanwhile wins below.
+        Employee stored = null;
+        boolean storedRead = false;
+        while (true) {
+            if (!storedRead && pendingFor(id) == null) {
+                stored = delegate.getFromPrimary(id).orElse(null);
+                storedRead = true;
+            }
+            Employee merged;
+            long record;
+            synchronized (this) {
+                Pending current = pending.get(id);
+                if (current == null && !storedRead) {
+                    // Flushed since the check, the database holds the row now.
+                    continue;
+                }
+                Employee base = current != null ? current.employee : stored;
+                if (base == null) {
+                    logger.error("Update failed: Employee ID {} does not exist", id);
+                    throw new RecordDoesNotExists(String.format("Employee ID %s does not exists", id));
+                }
+                if (changes.getVersion() != null && !changes.getVersion().equals(base.getVersion())) {
+                    logger.warn("Update failed: Employee ID {} is at version {}, expected {}", id, base.getVersion(), changes.getVersion());
+                    throw new VersionConflictException(String.format("Employee ID %s was modified concurrently, expected version %s but found %s",
+                            id, changes.getVersion(), base.getVersion()));
+                }
+                if (current == null && pending.size() >= maxPending) {
+                    logger.warn("Update of employee ID {} rejected, {} updates are waiting to be written", id, pending.size());
+                    throw new ServiceUnavailableException("Too many pending employee updates, retry later");
+                }
+                merged = new Employee();
+                merged.setId(id);
+                merged.setName(changes.getName() != null ? changes.getName() : base.getName());
+                merged.setIsTeamLead(changes.getIsTeamLead() != null ? changes.getIsTeamLead() : base.getIsTeamLead());
+                merged.setIdTeam(changes.getIdTeam() != null ? changes.getIdTeam() : base.getIdTeam());
+                merged.setVersion(base.getVersion() + 1);
+                // Coalesced updates keep the database row of the first one: the state the flush replaces.
+                Pending row = current != null
+                        ? new Pending(merged, current.previous, current.baseVersion)
+                        : new Pending(merged, stored, stored.getVersion());
+                record = journal.append(toRecord(row));
+                pending.remove(id);
+                pending.put(id, row);
+            }
+            journal.sync(record);
+            return merged;
+        }
+    }
+
+    /**
+     * Writes pending rows in batches of batch-size, one transaction each, until none are left. Rows
+     * changed again while a batch was written stay pending with their newer state, which now replaces
+     * the written one. A failed batch stays pending, in memory and in the journal, and is retried on the
+     * next run.
+     * <p>
+     * Settled rows are recorded by appending flushed markers. The journal is compacted to the pending
+     * rows once it holds more than twice as many records as are pending, plus a minimum, which keeps
+     * the cost per update constant.
+     */
+    @Scheduled(fixedDelayString = "${employees.write-behind.flush-interval:PT0.2S}")
+    public void flush() {
+        while (true) {
+            List<Pending> batch;
+            synchronized (this) {
+                batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+                for (Pending row : pending.values()) {
+                    if (batch.size() == batchSize) {
+                        break;
+                    }
+                    batch.add(row);
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<Pending> notApplied;
+            try {
+                notApplied = transactionTemplate.execute(status -> writeBatch(batch));
+            } catch (DataAccessException e) {
+                logger.warn("Write-behind flush of {} employees failed, retrying on the next run: {}", batch.size(), e.getMessage());
+                return;
+            }
+            flushed.increment(batch.size() - notApplied.size());
+            Set<Pending> rejectedRows = Collections.newSetFromMap(new IdentityHashMap<>());
+            rejectedRows.addAll(notApplied);
+            List<Long> dropped = new ArrayList<>();
+            List<JournalRecord> markers = new ArrayList<>(batch.size());
+            List<Pending> snapshot = null;
+            WriteBehindJournal.Mark mark = null;
+            long record;
+            synchronized (this) {
+                for (Pending row : batch) {
+                    Long id = row.employee.getId();
+                    if (pending.remove(id, row)) {
+                        if (rejectedRows.contains(row)) {
+                            dropped.add(id);
+                        }
+                        markers.add(flushedRecord(row));
+                    } else if (!rejectedRows.contains(row) && pending.containsKey(id)) {
+                        // Updated again meanwhile: the next flush replaces the row just written.
+                        Pending current = pending.get(id);
+                        pending.put(id, new Pending(current.employee, row.employee, row.employee.getVersion()));
+                        markers.add(flushedRecord(row));
+                    }
+                }
+                record = markers.isEmpty() ? 0 : journal.append(markers);
+                if (journal.getRecordCount() > 2L * pending.size() + COMPACT_MIN_RECORDS) {
+                    snapshot = new ArrayList<>(pending.values());
+                    mark = journal.mark();
+                }
+            }
+            if (record > 0) {
+                // A lost marker would let a restart replay rows that are written already.
+                journal.sync(record);
+            }
+            if (snapshot != null) {
+                compact(snapshot, mark);
+            }
+            if (!notApplied.isEmpty()) {
+                reject(notApplied, dropped);
+            }
+            if (batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private void compact(List<Pending> snapshot, WriteBehindJournal.Mark mark) {
+        List<JournalRecord> records = new ArrayList<>(snapshot.size());
+        snapshot.forEach(row -> records.add(toRecord(row)));
+        try {
+            journal.compact(records, mark);
+        } catch (UncheckedIOException e) {
+            // The old file stays in place and complete, compaction is retried after the next batch.
+            logger.warn("Write-behind journal compaction failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Applies the batch and publishes an event for every row that was written. Returns the rows the
+     * database no longer accepted: the employee was deleted, is at another version or the team is deleted.
+     */
+    private List<Pending> writeBatch(List<Pending> batch) {
+        String sql = "UPDATE Employee SET name = :name, isTeamLead = :isTeamLead, idTeam = :idTeam, version = :version " +
+                "WHERE id = :id AND version = :baseVersion " +
+                "AND EXISTS (SELECT 1 FROM Team WHERE id = :idTeam AND isDeleted = FALSE)";
+        MapSqlParameterSource[] parameters = batch.stream()
+                .map(row -> new MapSqlParameterSource()
+                        .addValue("name", row.employee.getName())
+                        .addValue("isTeamLead", row.employee.getIsTeamLead())
+                        .addValue("idTeam", row.employee.getIdTeam())
+                        .addValue("version", row.employee.getVersion())
+                        .addValue("baseVersion", row.baseVersion)
+                        .addValue("id", row.employee.getId()))
+                .toArray(MapSqlParameterSource[]::new);
+        Map<Long, Employee> replaced = replacedRows(batch);
+        int[] counts = jdbcTemplate.batchUpdate(sql, parameters);
+
+        List<Pending> applied = new ArrayList<>(batch.size());
+        List<Pending> notApplied = new ArrayList<>();
+        List<Pending> unknown = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                unknown.add(batch.get(i));
+            } else {
+                (counts[i] > 0 ? applied : notApplied).add(batch.get(i));
+            }
+        }
+        if (!unknown.isEmpty()) {
+            // Some drivers report rewritten batches without per-row counts, the row versions tell.
+            Map<Long, Integer> versions = new HashMap<>();
+            jdbcTemplate.query("SELECT id, version FROM Employee WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", unknown.stream().map(row -> row.employee.getId()).collect(Collectors.toList())),
+                    rs -> {
+                        versions.put(rs.getLong("id"), rs.getInt("version"));
+                    });
+            for (Pending row : unknown) {
+                (row.employee.getVersion().equals(versions.get(row.employee.getId())) ? applied : notApplied).add(row);
+            }
+        }
+        for (Pending row : applied) {
+            Employee previous = row.previous != null ? row.previous : replaced.get(row.employee.getId());
+            eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.UPDATED, row.employee.getId(), row.employee, previous));
+        }
+        return notApplied;
+    }
+
+    /**
+     * The database rows that replayed rows replace, read and locked in the flush transaction. Rows
+     * acknowledged by this process already carry theirs.
+     */
+    private Map<Long, Employee> replacedRows(List<Pending> batch) {
+        List<Long> ids = batch.stream()
+                .filter(row -> row.previous == null)
+                .map(row -> row.employee.getId())
+                .collect(Collectors.toList());
+        Map<Long, Employee> rows = new HashMap<>();
+        if (!ids.isEmpty()) {
+            jdbcTemplate.query("SELECT * FROM Employee WHERE id IN (:ids) FOR UPDATE", new MapSqlParameterSource("ids", ids), rs -> {
+                Employee employee = new Employee();
+                employee.setId(rs.getLong("id"));
+                employee.setName(rs.getString("name"));
+                employee.setIsTeamLead(rs.getBoolean("isTeamLead"));
+                employee.setIdTeam(rs.getInt("idTeam"));
+                employee.setVersion(rs.getInt("version"));
+                rows.put(employee.getId(), employee);
+            });
+        }
+        return rows;
+    }
+
+    private void reject(List<Pending> notApplied, List<Long> dropped) {
+        // The cache holds the acknowledged row, reads go back to the database.
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES);
+        if (cache != null) {
+            notApplied.forEach(row -> cache.evict(row.employee.getId()));
+        }
+        rejected.increment(notApplied.size());
+        if (!dropped.isEmpty()) {
+            logger.warn("Write-behind dropped {} acknowledged employee updates, the employee was deleted, changed elsewhere "
+                    + "or moved to a deleted team: IDs {}", dropped.size(), dropped);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        flush();
+        int left = getPendingCount();
+        if (left > 0) {
+            logger.warn("{} employee updates are still pending, they are replayed from the journal on the next start", left);
+        }
+        journal.close();
+    }
+
+    @Override
+    public void delete(Long id) {
+        // A pending update is only given up once the delete succeeded. A flush in between finds the row
+        // gone and drops the update itself.
+        delegate.delete(id);
+        long record = 0;
+        synchronized (this) {
+            if (pending.remove(id) != null) {
+                JournalRecord deleted = new JournalRecord();
+                deleted.setId(id);
+                deleted.setDeleted(true);
+                record = journal.append(deleted);
+            }
+        }
+        if (record > 0) {
+            // Otherwise a restart would replay the update of a deleted employee.
+            journal.sync(record);
+        }
+    }
+
+    @Override
+    public Employee create(Employee employee) {
+        return delegate.create(employee);
+    }
+
+    @Override
+    public void createAll(List<Employee> employees) {
+        delegate.createAll(employees);
+    }
+
+    @Override
+    public Set<Long> getExistingIds(Collection<Long> ids) {
+        return delegate.getExistingIds(ids);
+    }
+
+    @Override
+    public List<Employee> getAll() {
+        return overlay(delegate.getAll());
+    }
+
+    @Override
+    public List<Employee> getPage(Long after, int limit) {
+        return overlay(delegate.getPage(after, limit));
+    }
+
+    @Override
+    public void streamAll(Consumer<Employee> consumer) {
+        delegate.streamAll(withPending(consumer));
+    }
+
+    @Override
+    public void export(Consumer<Employee> consumer) {
+        delegate.export(withPending(consumer));
+    }
+
+    private Consumer<Employee> withPending(Consumer<Employee> consumer) {
+        return employee -> {
+            Pending row = pendingFor(employee.getId());
+            consumer.accept(row != null ? row.employee : employee);
+        };
+    }
+
+    @Override
+    public Optional<Employee> getById(Long id) {
+        Pending row = pendingFor(id);
+        return row != null ? Optional.of(row.employee) : delegate.getById(id);
+    }
+
+    @Override
+    public List<Employee> getByIds(Collection<Long> ids) {
+        return overlay(delegate.getByIds(ids));
+    }
+
+    @Override
+    public List<Employee> search(Long id, String name, SearchMode mode, Boolean isTeamLead, Integer idTeam) {
+        List<Employee> found = delegate.search(id, name, mode, isTeamLead, idTeam);
+        Map<Long, Employee> rows = pendingSnapshot();
+        if (rows.isEmpty()) {
+            return found;
+        }
+        // A pending row replaces the stored one, and it may enter or leave the result.
+        List<Employee> employees = new ArrayList<>(found.size());
+        for (Employee employee : found) {
+            Employee row = rows.remove(employee.getId());
+            if (row == null) {
+                employees.add(employee);
+            } else if (matches(row, id, name, mode, isTeamLead, idTeam)) {
+                employees.add(row);
+            }
+        }
+        for (Employee row : rows.values()) {
+            if (matches(row, id, name, mode, isTeamLead, idTeam)) {
+                employees.add(row);
+            }
+        }
+        return employees;
+    }
+
+    private static boolean matches(Employee employee, Long id, String name, SearchMode mode, Boolean isTeamLead, Integer idTeam) {
+        return (id == null || id.equals(employee.getId()))
+                && (name == null || mode.matches(employee.getName(), name))
+                && (isTeamLead == null || isTeamLead.equals(employee.getIsTeamLead()))
+                && (idTeam == null || idTeam.equals(employee.getIdTeam()));
+    }
+
+    private List<Employee> overlay(List<Employee> employees) {
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return employees;
+            }
+            List<Employee> result = new ArrayList<>(employees.size());
+            for (Employee employee : employees) {
+                Pending row = pending.get(employee.getId());
+                result.add(row != null ? row.employee : employee);
+            }
+            return result;
+        }
+    }
+
+    private synchronized Pending pendingFor(Long id) {
+        return pending.isEmpty() ? null : pending.get(id);
+    }
+
+    private synchronized Map<Long, Employee> pendingSnapshot() {
+        Map<Long, Employee> rows = new HashMap<>(pending.size() * 2);
+        pending.forEach((id, row) -> rows.put(id, row.employee));
+        return rows;
+    }
+
+    private static JournalRecord toRecord(Pending row) {
+        JournalRecord record = new JournalRecord();
+        record.setId(row.employee.getId());
+        record.setName(row.employee.getName());
+        record.setIsTeamLead(row.employee.getIsTeamLead());
+        record.setIdTeam(row.employee.getIdTeam());
+        record.setVersion(row.employee.getVersion());
+        record.setBaseVersion(row.baseVersion);
+        return record;
+    }
+
+    private static JournalRecord flushedRecord(Pending row) {
+        JournalRecord record = new JournalRecord();
+        record.setId(row.employee.getId());
+        record.setVersion(row.employee.getVersion());
+        record.setFlushed(true);
+        return record;
+    }
+
+    private static Integer baseVersion(JournalRecord record) {
+        // Single updates are one version ahead of the database.
+        return record.getBaseVersion() != null ? record.getBaseVersion() : record.getVersion() - 1;
+    }
+
+    private static Employee toEmployee(JournalRecord record) {
+        Employee employee = new Employee();
+        employee.setId(record.getId());
+        employee.setName(record.getName());
+        employee.setIsTeamLead(record.getIsTeamLead());
+        employee.setIdTeam(record.getIdTeam());
+        employee.setVersion(record.getVersion());
+        return employee;
+    }
+
+    private static class Pending {
+        private final Employee employee;
+        private final Employee previous;
+        private final Integer baseVersion;
+
+        Pending(Employee employee, Employee previous, Integer baseVersion) {
+            this.employee = employee;
+            this.previous = previous;
+            this.baseVersion = baseVersion;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.employees.employees.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out primary or replica connections according to {@link ReplicaRouting#currentRoute()}. The
+ * lazy proxy only picks the pool when the first statement runs, so the route set around a repository
+ * method applies even if the connection was requested earlier.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+    private final DataSource primary;
+    private final DataSource replica;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+        AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return ReplicaRouting.currentRoute();
+            }
+        };
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReplicaRouting.Route.PRIMARY, primary);
+        targets.put(ReplicaRouting.Route.REPLICA, replica);
+        router.setTargetDataSources(targets);
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    @Override
+    public void close() {
+        if (primary instanceof HikariDataSource) {
+            ((HikariDataSource) primary).close();
+        }
+        if (replica instanceof HikariDataSource) {
+            ((HikariDataSource) replica).close();
+        }
+    }
+}
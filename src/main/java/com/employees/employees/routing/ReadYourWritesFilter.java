@@ -0,0 +1,72 @@
+package com.employees.employees.routing;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Gives every client that writes a cookie holding the end of its read-your-writes window. Until then
+ * its requests read from the primary on every node, so it does not see its change disappear because
+ * of replica lag.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String COOKIE_NAME = "employees-primary-until";
+
+    private final ReplicaRouting replicaRouting;
+
+    public ReadYourWritesFilter(ReplicaRouting replicaRouting) {
+        this.replicaRouting = replicaRouting;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = !isSafe(request.getMethod());
+        if (write) {
+            long window = replicaRouting.getReadYourWritesWindow().toMillis();
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(now + window));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (window + 999) / 1000));
+            response.addCookie(cookie);
+        }
+        boolean pinned = write || primaryUntil(request) > now;
+        if (!pinned) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ReplicaRouting.pinToPrimary(true);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRouting.pinToPrimary(false);
+        }
+    }
+
+    private static boolean isSafe(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+
+    private static long primaryUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.employees.employees.routing;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a repository read that may be served by a read replica when replica routing is configured
+ * (employees.datasource.replica.url). Inside a transaction, and shortly after a write, it still reads
+ * from the primary.
+ * <p>
+ * Cached reads are not marked. A replica row older than the read-your-writes window would otherwise
+ * stay in the cache for the cache's TTL, so their cache misses always read from the primary.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReplicaRead {
+}
@@ -0,0 +1,31 @@
+package com.employees.employees.routing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Routes {@link ReplicaRead} methods to the replica when {@link ReplicaRouting} allows it. The route
+ * holds for the whole method, so its statements all see the same database.
+ */
+@Aspect
+public class ReplicaReadAspect {
+    private final ReplicaRouting replicaRouting;
+
+    public ReplicaReadAspect(ReplicaRouting replicaRouting) {
+        this.replicaRouting = replicaRouting;
+    }
+
+    @Around("@annotation(com.employees.employees.routing.ReplicaRead)")
+    public Object routeToReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ReplicaRouting.isRouted() || !replicaRouting.isReplicaAllowed()) {
+            return joinPoint.proceed();
+        }
+        ReplicaRouting.route(ReplicaRouting.Route.REPLICA);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaRouting.route(null);
+        }
+    }
+}
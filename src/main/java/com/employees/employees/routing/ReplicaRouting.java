@@ -0,0 +1,81 @@
+package com.employees.employees.routing;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Decides whether a {@link ReplicaRead} may use the replica.
+ * <p>
+ * Reads stay on the primary inside a transaction and during requests of a client that wrote within
+ * the read-your-writes window (see {@link ReadYourWritesFilter}). Other clients keep reading from the
+ * replica while someone writes; replica reads never fill the shared caches.
+ */
+public class ReplicaRouting {
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final ThreadLocal<Route> ROUTE = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final Duration readYourWritesWindow;
+
+    public ReplicaRouting(Duration readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    public static Route currentRoute() {
+        Route route = ROUTE.get();
+        return route == null ? Route.PRIMARY : route;
+    }
+
+    static boolean isRouted() {
+        return ROUTE.get() != null;
+    }
+
+    static void route(Route route) {
+        if (route == null) {
+            ROUTE.remove();
+        } else {
+            ROUTE.set(route);
+        }
+    }
+
+    static void pinToPrimary(boolean pinned) {
+        if (pinned) {
+            PINNED.set(Boolean.TRUE);
+        } else {
+            PINNED.remove();
+        }
+    }
+
+    /**
+     * Carries the calling thread's read-your-writes pin over to {@code task}, for request work that
+     * continues on another thread.
+     */
+    public static Runnable propagatePin(Runnable task) {
+        Boolean pinned = PINNED.get();
+        if (pinned == null) {
+            return task;
+        }
+        return () -> {
+            PINNED.set(pinned);
+            try {
+                task.run();
+            } finally {
+                PINNED.remove();
+            }
+        };
+    }
+
+    public boolean isReplicaAllowed() {
+        return PINNED.get() == null
+                && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    public Duration getReadYourWritesWindow() {
+        return readYourWritesWindow;
+    }
+}
@@ -0,0 +1,313 @@
+package com.employees.employees.search;
+
+import com.employees.employees.entity.Employee;
+import com.employees.employees.event.EmployeeChangedEvent;
+import com.employees.employees.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Optional in-memory trigram index over employee names, enabled with employees.search.index.enabled.
+ * It is built in the background at startup and then follows employee writes through
+ * {@link EmployeeChangedEvent}s, so name-only searches can be answered without touching the database.
+ * Names are matched case and accent insensitively, like the database collation.
+ */
+@Component
+@Profile("!reactive")
+public class EmployeeNameIndex {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeNameIndex.class);
+    private static final int GRAM_LENGTH = 3;
+    private static final int BUILD_BATCH_SIZE = 1000;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final EmployeeRepository employeeRepository;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, LongPostingList> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Set<Long> changedWhileBuilding = new HashSet<>();
+    private boolean building;
+    private volatile boolean ready;
+
+    public EmployeeNameIndex(EmployeeRepository employeeRepository,
+                             @Value("${employees.search.index.enabled:false}") boolean enabled,
+                             MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.enabled = enabled;
+        if (enabled) {
+            Gauge.builder("employees.search.index.documents", this, EmployeeNameIndex::size)
+                    .description("Employees held by the name index")
+                    .register(meterRegistry);
+            Gauge.builder("employees.search.index.memory", this, EmployeeNameIndex::estimatedBytes)
+                    .description("Estimated heap used by the name index")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            Gauge.builder("employees.search.index.memory.per.employee", this, EmployeeNameIndex::estimatedBytesPerEmployee)
+                    .description("Estimated heap used by the name index per indexed employee")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBuild() {
+        if (!enabled) {
+            return;
+        }
+        Thread builder = new Thread(this::build, "employee-name-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    void build() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            building = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            List<Employee> batch = new ArrayList<>(BUILD_BATCH_SIZE);
+            employeeRepository.streamAll(employee -> {
+                batch.add(employee);
+                if (batch.size() == BUILD_BATCH_SIZE) {
+                    addBuildBatch(batch);
+                    batch.clear();
+                }
+            });
+            addBuildBatch(batch);
+        } catch (RuntimeException e) {
+            logger.error("Building the employee name index failed, name searches keep using the database", e);
+            return;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                building = false;
+                changedWhileBuilding.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        ready = true;
+        logger.info("Employee name index built in {} ms: {} employees, ~{} bytes per employee",
+                (System.nanoTime() - start) / 1_000_000, size(), estimatedBytesPerEmployee());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                // The build reads a snapshot, it must not overwrite this newer state.
+                changedWhileBuilding.add(event.getId());
+            }
+            remove(event.getId());
+            if (event.getEmployee() != null) {
+                add(event.getEmployee());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Employee> search(String term, SearchMode mode) {
+        String query = normalize(term.trim());
+        List<String> words = mode == SearchMode.TOKEN ? words(query) : Collections.singletonList(query);
+        if (words.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Employee> employees = new ArrayList<>();
+            for (long id : candidates(words)) {
+                Document document = documents.get(id);
+                if (matches(document.normalizedName, query, words, mode)) {
+                    employees.add(document.employee);
+                }
+            }
+            return employees;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rough heap estimate for a 64-bit JVM with compressed oops: posting arrays, map entries,
+     * keys, and the employees kept to answer searches.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (LongPostingList postingList : postings.values()) {
+                bytes += 32 + 48 + postingList.estimatedBytes();
+            }
+            for (Document document : documents.values()) {
+                bytes += 32 + 16 + 16 + 32 + 2 * (40 + document.normalizedName.length());
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long estimatedBytesPerEmployee() {
+        int size = size();
+        return size == 0 ? 0 : estimatedBytes() / size;
+    }
+
+    private void addBuildBatch(List<Employee> batch) {
+        lock.writeLock().lock();
+        try {
+            for (Employee employee : batch) {
+                if (!changedWhileBuilding.contains(employee.getId())) {
+                    remove(employee.getId());
+                    add(employee);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(Employee employee) {
+        Employee copy = new Employee();
+        copy.setId(employee.getId());
+        copy.setName(employee.getName());
+        copy.setIsTeamLead(employee.getIsTeamLead());
+        copy.setIdTeam(employee.getIdTeam());
+        copy.setVersion(employee.getVersion());
+        Document document = new Document(copy, normalize(employee.getName()));
+        documents.put(copy.getId(), document);
+        for (String gram : grams(document.normalizedName)) {
+            postings.computeIfAbsent(gram, key -> new LongPostingList()).add(copy.getId());
+        }
+    }
+
+    private void remove(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String gram : grams(document.normalizedName)) {
+            LongPostingList postingList = postings.get(gram);
+            if (postingList != null) {
+                postingList.remove(id);
+                if (postingList.size() == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ids, in ascending order, of employees whose name contains every trigram of the query words.
+     * Words shorter than a trigram cannot narrow the search and fall back to all employees.
+     */
+    private long[] candidates(List<String> words) {
+        Set<String> grams = new HashSet<>();
+        words.forEach(word -> grams.addAll(grams(word)));
+        if (grams.isEmpty()) {
+            return documents.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+
+        List<LongPostingList> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            LongPostingList postingList = postings.get(gram);
+            if (postingList == null) {
+                return new long[0];
+            }
+            lists.add(postingList);
+        }
+        lists.sort(Comparator.comparingInt(LongPostingList::size));
+
+        LongPostingList smallest = lists.get(0);
+        long[] ids = new long[smallest.size()];
+        int count = 0;
+        for (int i = 0; i < smallest.size(); i++) {
+            long id = smallest.get(i);
+            boolean inAll = true;
+            for (int j = 1; j < lists.size() && inAll; j++) {
+                inAll = lists.get(j).contains(id);
+            }
+            if (inAll) {
+                ids[count++] = id;
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    private static boolean matches(String name, String query, List<String> words, SearchMode mode) {
+        switch (mode) {
+            case PREFIX:
+                return name.startsWith(query);
+            case TOKEN:
+                List<String> nameWords = words(name);
+                return words.stream().allMatch(word -> nameWords.stream().anyMatch(nameWord -> nameWord.startsWith(word)));
+            default:
+                return name.contains(query);
+        }
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static List<String> words(String value) {
+        List<String> words = new ArrayList<>();
+        for (String word : NON_WORD.split(value)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    static String normalize(String value) {
+        return SearchMode.fold(value);
+    }
+
+    private static class Document {
+        private final Employee employee;
+        private final String normalizedName;
+
+        private Document(Employee employee, String normalizedName) {
+            this.employee = employee;
+            this.normalizedName = normalizedName;
+        }
+    }
+}
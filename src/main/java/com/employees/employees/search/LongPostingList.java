@@ -0,0 +1,68 @@
+package com.employees.employees.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of employee ids backed by a primitive long array. Not thread safe, callers synchronize.
+ */
+public class LongPostingList {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] values = new long[INITIAL_CAPACITY];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public long get(int index) {
+        return values[index];
+    }
+
+    public boolean contains(long value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    public void add(long value) {
+        // Ids mostly arrive in ascending order while the index is built, keep that path O(1).
+        if (size > 0 && values[size - 1] >= value) {
+            int position = Arrays.binarySearch(values, 0, size, value);
+            if (position >= 0) {
+                return;
+            }
+            insertAt(-position - 1, value);
+            return;
+        }
+        insertAt(size, value);
+    }
+
+    public void remove(long value) {
+        int position = Arrays.binarySearch(values, 0, size, value);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(values, position + 1, values, position, size - position - 1);
+        size--;
+    }
+
+    /**
+     * Position of the first value greater than the given one, {@link #size()} if there is none.
+     */
+    public int positionAfter(long value) {
+        int position = Arrays.binarySearch(values, 0, size, value);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    public long estimatedBytes() {
+        return 16 + 16 + 8L * values.length;
+    }
+
+    private void insertAt(int position, long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length + (values.length >> 1) + 1);
+        }
+        System.arraycopy(values, position, values, position + 1, size - position);
+        values[position] = value;
+        size++;
+    }
+}
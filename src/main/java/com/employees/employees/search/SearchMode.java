@@ -0,0 +1,104 @@
+package com.employees.employees.search;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * How a name filter is matched. Name columns use a case-insensitive collation, so none of the
+ * modes wrap the column in a function and PREFIX and TOKEN can be answered from an index.
+ */
+public enum SearchMode {
+    /** Substring match, {@code name LIKE '%term%'}. Needs a full scan, kept for compatibility. */
+    CONTAINS {
+        @Override
+        public String condition(String column, String parameter) {
+            return column + " LIKE :" + parameter;
+        }
+
+        @Override
+        public String parameterValue(String term) {
+            return "%" + escapeLike(term.trim()) + "%";
+        }
+
+        @Override
+        public boolean matches(String value, String term) {
+            return fold(value).contains(fold(term.trim()));
+        }
+    },
+    /** Prefix match, {@code name LIKE 'term%'}. Served by a range scan on the name index. */
+    PREFIX {
+        @Override
+        public String condition(String column, String parameter) {
+            return column + " LIKE :" + parameter;
+        }
+
+        @Override
+        public String parameterValue(String term) {
+            return escapeLike(term.trim()) + "%";
+        }
+
+        @Override
+        public boolean matches(String value, String term) {
+            return fold(value).startsWith(fold(term.trim()));
+        }
+    },
+    /**
+     * Every word of the term must start a word of the name, e.g. "mir pet" matches "Mirko Petrovic".
+     * Served by the FULLTEXT index; words shorter than innodb_ft_min_token_size are not indexed.
+     */
+    TOKEN {
+        @Override
+        public String condition(String column, String parameter) {
+            return "MATCH(" + column + ") AGAINST (:" + parameter + " IN BOOLEAN MODE)";
+        }
+
+        @Override
+        public String parameterValue(String term) {
+            return Arrays.stream(WORD_SEPARATOR.split(term))
+                    .filter(token -> !token.isEmpty())
+                    .map(token -> "+" + token + "*")
+                    .collect(Collectors.joining(" "));
+        }
+
+        @Override
+        public boolean matches(String value, String term) {
+            String[] tokens = Arrays.stream(WORD_SEPARATOR.split(fold(term)))
+                    .filter(token -> !token.isEmpty())
+                    .toArray(String[]::new);
+            // A term without words has no tokens to match, like an empty MATCH ... AGAINST.
+            if (tokens.length == 0) {
+                return false;
+            }
+            String[] words = WORD_SEPARATOR.split(fold(value));
+            return Arrays.stream(tokens).allMatch(token -> Arrays.stream(words).anyMatch(word -> word.startsWith(token)));
+        }
+    };
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    public abstract String condition(String column, String parameter);
+
+    public abstract String parameterValue(String term);
+
+    /**
+     * The same test as {@link #condition} for stores that match names in memory.
+     */
+    public abstract boolean matches(String value, String term);
+
+    /**
+     * Case and accent insensitive form of a name, like the utf8mb4_0900_ai_ci collation compares it:
+     * "Petrović" folds to "petrovic".
+     */
+    public static String fold(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
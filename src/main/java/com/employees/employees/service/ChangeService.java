@@ -0,0 +1,9 @@
+package com.employees.employees.service;
+
+import com.employees.employees.dto.ChangesDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface ChangeService {
+    ChangesDto getChanges(Long since, Integer limit);
+    SseEmitter subscribe(Integer idTeam);
+}
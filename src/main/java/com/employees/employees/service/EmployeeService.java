@@ -1,14 +1,25 @@
 package com.employees.employees.service;
 
+import com.employees.employees.dto.EmployeeBatchResultDto;
 import com.employees.employees.dto.EmployeeDto;
+import com.employees.employees.dto.EmployeePatchDto;
+import com.employees.employees.dto.EmployeesByIdsDto;
+import com.employees.employees.dto.PageDto;
+import com.employees.employees.search.SearchMode;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
     EmployeeDto create(EmployeeDto employeeDto);
+    EmployeeBatchResultDto createAll(List<EmployeeDto> employeeDtos);
     List<EmployeeDto> getAll();
+    PageDto<EmployeeDto> getPage(Long after, Integer limit);
+    void export(Consumer<EmployeeDto> consumer);
     EmployeeDto getById(Long id);
+    EmployeesByIdsDto getByIds(List<Long> ids);
     EmployeeDto update(Long id, EmployeeDto employeeDto);
+    EmployeeDto patch(Long id, EmployeePatchDto employeePatchDto);
     void delete(Long id);
-    List<EmployeeDto> search(Long id, String name, Boolean isTeamLead, Integer idTeam);
+    List<EmployeeDto> search(Long id, String name, SearchMode mode, Boolean isTeamLead, Integer idTeam);
 }
\ No newline at end of file
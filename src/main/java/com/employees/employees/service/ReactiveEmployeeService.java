@@ -0,0 +1,21 @@
+package com.employees.employees.service;
+
+import com.employees.employees.dto.EmployeeBatchResultDto;
+import com.employees.employees.dto.EmployeeDto;
+import com.employees.employees.dto.PageDto;
+import com.employees.employees.search.SearchMode;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveEmployeeService {
+    Mono<EmployeeDto> create(EmployeeDto employeeDto);
+    Mono<EmployeeBatchResultDto> createAll(List<EmployeeDto> employeeDtos);
+    Flux<EmployeeDto> getAll();
+    Mono<PageDto<EmployeeDto>> getPage(Long after, Integer limit);
+    Mono<EmployeeDto> getById(Long id);
+    Mono<EmployeeDto> update(Long id, EmployeeDto employeeDto);
+    Mono<Void> delete(Long id);
+    Flux<EmployeeDto> search(Long id, String name, SearchMode mode, Boolean isTeamLead, Integer idTeam);
+}
@@ -0,0 +1,15 @@
+package com.employees.employees.service;
+
+import com.employees.employees.dto.TeamDto;
+import com.employees.employees.search.SearchMode;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTeamService {
+    Mono<TeamDto> create(String name);
+    Flux<TeamDto> getAll();
+    Mono<TeamDto> getById(Integer id);
+    Mono<TeamDto> update(Integer id, TeamDto teamDto);
+    Mono<Void> delete(Integer id);
+    Flux<TeamDto> search(Integer id, String name, SearchMode mode);
+}
@@ -1,6 +1,9 @@
 package com.employees.employees.service;
 
 import com.employees.employees.dto.TeamDto;
+import com.employees.employees.dto.TeamStatsDto;
+import com.employees.employees.dto.TeamWithMembersDto;
+import com.employees.employees.search.SearchMode;
 
 import java.util.List;
 
@@ -8,7 +11,11 @@ public interface TeamService {
     TeamDto create(String name);
     List<TeamDto> getAll();
     TeamDto getById(Integer id);
+    TeamWithMembersDto getWithMembers(Integer id);
+    List<TeamWithMembersDto> getAllWithMembers();
     TeamDto update(Integer id, TeamDto teamDto);
     void delete(Integer id);
-    List<TeamDto> search(Integer id, String name);
+    List<TeamDto> search(Integer id, String name, SearchMode mode);
+    TeamStatsDto getStats(Integer id);
+    List<TeamStatsDto> getAllStats();
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.employees.employees.service.impl;
+
+import com.employees.employees.changes.ChangeStream;
+import com.employees.employees.dto.ChangeDto;
+import com.employees.employees.dto.ChangesDto;
+import com.employees.employees.service.ChangeService;
+import com.employees.employees.entity.Change;
+import com.employees.employees.exception.InvalidRequestException;
+import com.employees.employees.mapper.ChangeMapper;
+import com.employees.employees.repository.ChangeLogRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Profile("!reactive")
+public class ChangeServiceImpl implements ChangeService {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeStream changeStream;
+    private final Duration settleTime;
+
+    public ChangeServiceImpl(ChangeLogRepository changeLogRepository,
+                             ChangeStream changeStream,
+                             @Value("${employees.changes.settle-time:PT1S}") Duration settleTime) {
+        this.changeLogRepository = changeLogRepository;
+        this.changeStream = changeStream;
+        this.settleTime = settleTime;
+    }
+
+    @Override
+    public ChangesDto getChanges(Long since, Integer limit) {
+        long from = since == null ? 0 : since;
+        if (from < 0) {
+            throw new InvalidRequestException("since cannot be negative");
+        }
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        // One extra row tells us whether the consumer is caught up without a COUNT query.
+        List<Change> changes = changeLogRepository.getSince(from, pageSize + 1, settleTime);
+        boolean hasMore = changes.size() > pageSize;
+        if (hasMore) {
+            changes = changes.subList(0, pageSize);
+        }
+        long nextSince = changes.isEmpty() ? from : changes.get(changes.size() - 1).getSeq();
+        List<ChangeDto> items = changes.stream().map(ChangeMapper.MAPPER::mapToChangeDto).collect(Collectors.toList());
+        return new ChangesDto(items, nextSince, hasMore);
+    }
+
+    @Override
+    public SseEmitter subscribe(Integer idTeam) {
+        return changeStream.subscribe(idTeam);
+    }
+}
@@ -1,23 +1,51 @@
 package com.employees.employees.service.impl;
 
+import com.employees.employees.dto.BatchRowResultDto;
+import com.employees.employees.dto.BatchRowStatus;
+import com.employees.employees.dto.EmployeeBatchResultDto;
 import com.employees.employees.dto.EmployeeDto;
+import com.employees.employees.dto.EmployeePatchDto;
+import com.employees.employees.dto.EmployeesByIdsDto;
+import com.employees.employees.dto.PageDto;
 import com.employees.employees.entity.Employee;
+import com.employees.employees.exception.InvalidRequestException;
 import com.employees.employees.exception.RecordDoesNotExists;
 import com.employees.employees.mapper.EmployeeMapper;
 import com.employees.employees.repository.EmployeeRepository;
+import com.employees.employees.repository.TeamRepository;
+import com.employees.employees.search.EmployeeNameIndex;
+import com.employees.employees.search.SearchMode;
 import com.employees.employees.service.EmployeeService;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Profile("!reactive")
 public class EmployeeServiceImpl implements EmployeeService {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_IDS = 5000;
+
     private final EmployeeRepository employeeRepository;
+    private final TeamRepository teamRepository;
+    private final EmployeeNameIndex employeeNameIndex;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, TeamRepository teamRepository, EmployeeNameIndex employeeNameIndex) {
         this.employeeRepository = employeeRepository;
+        this.teamRepository = teamRepository;
+        this.employeeNameIndex = employeeNameIndex;
     }
 
     @Override
@@ -27,12 +55,60 @@ public class EmployeeServiceImpl implements EmployeeService {
         return EmployeeMapper.MAPPER.mapToEmployeeDto(saved);
     }
 
+    @Override
+    @Transactional
+    public EmployeeBatchResultDto createAll(List<EmployeeDto> employeeDtos) {
+        Set<Long> ids = employeeDtos.stream().map(EmployeeDto::getId).collect(Collectors.toSet());
+        Set<Integer> teamIds = employeeDtos.stream().map(EmployeeDto::getIdTeam).collect(Collectors.toSet());
+        Set<Long> existingIds = employeeRepository.getExistingIds(ids);
+        Set<Integer> existingTeamIds = teamRepository.getExistingIds(teamIds);
+
+        Set<Long> seenIds = new HashSet<>();
+        List<Employee> accepted = new ArrayList<>();
+        List<BatchRowResultDto> results = new ArrayList<>(employeeDtos.size());
+        for (EmployeeDto employeeDto : employeeDtos) {
+            Long id = employeeDto.getId();
+            if (!seenIds.add(id)) {
+                results.add(new BatchRowResultDto(id, BatchRowStatus.DUPLICATE_IN_REQUEST, String.format("Employee ID %s appears more than once in the request", id)));
+            } else if (existingIds.contains(id)) {
+                results.add(new BatchRowResultDto(id, BatchRowStatus.ALREADY_EXISTS, String.format("Employee ID %s already exists", id)));
+            } else if (!existingTeamIds.contains(employeeDto.getIdTeam())) {
+                results.add(new BatchRowResultDto(id, BatchRowStatus.TEAM_DOES_NOT_EXIST, String.format("Team ID %s does not exist", employeeDto.getIdTeam())));
+            } else {
+                accepted.add(EmployeeMapper.MAPPER.mapToEmployee(employeeDto));
+                results.add(new BatchRowResultDto(id, BatchRowStatus.CREATED, null));
+            }
+        }
+
+        employeeRepository.createAll(accepted);
+        return new EmployeeBatchResultDto(accepted.size(), employeeDtos.size() - accepted.size(), results);
+    }
+
     @Override
     public List<EmployeeDto> getAll() {
         List<Employee> employees = employeeRepository.getAll();
         return employees.stream().map(employee -> EmployeeMapper.MAPPER.mapToEmployeeDto(employee)).collect(Collectors.toList());
     }
 
+    @Override
+    public PageDto<EmployeeDto> getPage(Long after, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        // One extra row tells us whether another page exists without a COUNT query.
+        List<Employee> employees = employeeRepository.getPage(after, pageSize + 1);
+        Long nextCursor = null;
+        if (employees.size() > pageSize) {
+            employees = employees.subList(0, pageSize);
+            nextCursor = employees.get(pageSize - 1).getId();
+        }
+        List<EmployeeDto> items = employees.stream().map(employee -> EmployeeMapper.MAPPER.mapToEmployeeDto(employee)).collect(Collectors.toList());
+        return new PageDto<>(items, nextCursor);
+    }
+
+    @Override
+    public void export(Consumer<EmployeeDto> consumer) {
+        employeeRepository.export(employee -> consumer.accept(EmployeeMapper.MAPPER.mapToEmployeeDto(employee)));
+    }
+
     @Override
     public EmployeeDto getById(Long id) {
         Optional<Employee> employee = employeeRepository.getById(id);
@@ -42,6 +118,32 @@ public class EmployeeServiceImpl implements EmployeeService {
         return EmployeeMapper.MAPPER.mapToEmployeeDto(employee.get());
     }
 
+    @Override
+    public EmployeesByIdsDto getByIds(List<Long> ids) {
+        if (ids.size() > MAX_IDS) {
+            throw new InvalidRequestException(String.format("Cannot fetch more than %s employees at once", MAX_IDS));
+        }
+        // "?ids=1,,2" and a JSON null both bind to a null element.
+        if (ids.contains(null)) {
+            throw new InvalidRequestException("Employee ids cannot be empty or null");
+        }
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        Map<Long, Employee> employees = employeeRepository.getByIds(uniqueIds).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+
+        List<EmployeeDto> found = new ArrayList<>(employees.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            Employee employee = employees.get(id);
+            if (employee != null) {
+                found.add(EmployeeMapper.MAPPER.mapToEmployeeDto(employee));
+            } else {
+                missing.add(id);
+            }
+        }
+        return new EmployeesByIdsDto(found, missing);
+    }
+
     @Override
     public EmployeeDto update(Long id, EmployeeDto employeeDto) {
         Employee employee = EmployeeMapper.MAPPER.mapToEmployee(employeeDto);
@@ -49,14 +151,29 @@ public class EmployeeServiceImpl implements EmployeeService {
         return EmployeeMapper.MAPPER.mapToEmployeeDto(updated);
     }
 
+    @Override
+    public EmployeeDto patch(Long id, EmployeePatchDto employeePatchDto) {
+        if (employeePatchDto.getName() == null && employeePatchDto.getIsTeamLead() == null && employeePatchDto.getIdTeam() == null) {
+            throw new InvalidRequestException("Patch must change at least one of name, isTeamLead and idTeam");
+        }
+        Employee changes = EmployeeMapper.MAPPER.mapToEmployee(employeePatchDto);
+        Employee patched = employeeRepository.patch(id, changes);
+        return EmployeeMapper.MAPPER.mapToEmployeeDto(patched);
+    }
+
     @Override
     public void delete(Long id) {
         employeeRepository.delete(id);
     }
 
     @Override
-    public List<EmployeeDto> search(Long id, String name, Boolean isTeamLead, Integer idTeam) {
-        List<Employee> employees = employeeRepository.search(id, name, isTeamLead, idTeam);
+    public List<EmployeeDto> search(Long id, String name, SearchMode mode, Boolean isTeamLead, Integer idTeam) {
+        List<Employee> employees;
+        if (name != null && id == null && isTeamLead == null && idTeam == null && employeeNameIndex.isReady()) {
+            employees = employeeNameIndex.search(name, mode);
+        } else {
+            employees = employeeRepository.search(id, name, mode, isTeamLead, idTeam);
+        }
         return employees.stream().map(employee -> EmployeeMapper.MAPPER.mapToEmployeeDto(employee)).collect(Collectors.toList());
     }
 }
\ No newline at end of file
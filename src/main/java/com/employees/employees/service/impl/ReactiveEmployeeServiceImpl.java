@@ -0,0 +1,125 @@
+package com.employees.employees.service.impl;
+
+import com.employees.employees.dto.BatchRowResultDto;
+import com.employees.employees.dto.BatchRowStatus;
+import com.employees.employees.dto.EmployeeBatchResultDto;
+import com.employees.employees.dto.EmployeeDto;
+import com.employees.employees.dto.PageDto;
+import com.employees.employees.entity.Employee;
+import com.employees.employees.exception.RecordDoesNotExists;
+import com.employees.employees.mapper.EmployeeMapper;
+import com.employees.employees.repository.ReactiveEmployeeRepository;
+import com.employees.employees.repository.ReactiveTeamRepository;
+import com.employees.employees.search.SearchMode;
+import com.employees.employees.service.ReactiveEmployeeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+    private final ReactiveEmployeeRepository employeeRepository;
+    private final ReactiveTeamRepository teamRepository;
+    private final TransactionalOperator transactionalOperator;
+
+    public ReactiveEmployeeServiceImpl(ReactiveEmployeeRepository employeeRepository,
+                                       ReactiveTeamRepository teamRepository,
+                                       TransactionalOperator transactionalOperator) {
+        this.employeeRepository = employeeRepository;
+        this.teamRepository = teamRepository;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    @Override
+    public Mono<EmployeeDto> create(EmployeeDto employeeDto) {
+        return employeeRepository.create(EmployeeMapper.MAPPER.mapToEmployee(employeeDto))
+                .map(EmployeeMapper.MAPPER::mapToEmployeeDto);
+    }
+
+    @Override
+    public Mono<EmployeeBatchResultDto> createAll(List<EmployeeDto> employeeDtos) {
+        Set<Long> ids = employeeDtos.stream().map(EmployeeDto::getId).collect(Collectors.toSet());
+        Set<Integer> teamIds = employeeDtos.stream().map(EmployeeDto::getIdTeam).collect(Collectors.toSet());
+
+        Mono<EmployeeBatchResultDto> batch = Mono.zip(
+                        employeeRepository.getExistingIds(ids).collect(Collectors.toSet()),
+                        teamRepository.getExistingIds(teamIds).collect(Collectors.toSet()))
+                .flatMap(existing -> {
+                    Set<Long> existingIds = existing.getT1();
+                    Set<Integer> existingTeamIds = existing.getT2();
+                    Set<Long> seenIds = new HashSet<>();
+                    List<Employee> accepted = new ArrayList<>();
+                    List<BatchRowResultDto> results = new ArrayList<>(employeeDtos.size());
+                    for (EmployeeDto employeeDto : employeeDtos) {
+                        Long id = employeeDto.getId();
+                        if (!seenIds.add(id)) {
+                            results.add(new BatchRowResultDto(id, BatchRowStatus.DUPLICATE_IN_REQUEST, String.format("Employee ID %s appears more than once in the request", id)));
+                        } else if (existingIds.contains(id)) {
+                            results.add(new BatchRowResultDto(id, BatchRowStatus.ALREADY_EXISTS, String.format("Employee ID %s already exists", id)));
+                        } else if (!existingTeamIds.contains(employeeDto.getIdTeam())) {
+                            results.add(new BatchRowResultDto(id, BatchRowStatus.TEAM_DOES_NOT_EXIST, String.format("Team ID %s does not exist", employeeDto.getIdTeam())));
+                        } else {
+                            accepted.add(EmployeeMapper.MAPPER.mapToEmployee(employeeDto));
+                            results.add(new BatchRowResultDto(id, BatchRowStatus.CREATED, null));
+                        }
+                    }
+                    return employeeRepository.createAll(accepted)
+                            .thenReturn(new EmployeeBatchResultDto(accepted.size(), employeeDtos.size() - accepted.size(), results));
+                });
+        return transactionalOperator.transactional(batch);
+    }
+
+    @Override
+    public Flux<EmployeeDto> getAll() {
+        return employeeRepository.getAll().map(EmployeeMapper.MAPPER::mapToEmployeeDto);
+    }
+
+    @Override
+    public Mono<PageDto<EmployeeDto>> getPage(Long after, Integer limit) {
+        int pageSize = limit == null ? EmployeeServiceImpl.DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), EmployeeServiceImpl.MAX_PAGE_SIZE);
+        // One extra row tells us whether another page exists without a COUNT query.
+        return employeeRepository.getPage(after, pageSize + 1)
+                .collectList()
+                .map(employees -> {
+                    Long nextCursor = null;
+                    if (employees.size() > pageSize) {
+                        employees = employees.subList(0, pageSize);
+                        nextCursor = employees.get(pageSize - 1).getId();
+                    }
+                    List<EmployeeDto> items = employees.stream().map(EmployeeMapper.MAPPER::mapToEmployeeDto).collect(Collectors.toList());
+                    return new PageDto<>(items, nextCursor);
+                });
+    }
+
+    @Override
+    public Mono<EmployeeDto> getById(Long id) {
+        return employeeRepository.getById(id)
+                .switchIfEmpty(Mono.error(() -> new RecordDoesNotExists(String.format("Employee ID %s does not exist", id))))
+                .map(EmployeeMapper.MAPPER::mapToEmployeeDto);
+    }
+
+    @Override
+    public Mono<EmployeeDto> update(Long id, EmployeeDto employeeDto) {
+        return employeeRepository.update(id, EmployeeMapper.MAPPER.mapToEmployee(employeeDto))
+                .map(EmployeeMapper.MAPPER::mapToEmployeeDto);
+    }
+
+    @Override
+    public Mono<Void> delete(Long id) {
+        return employeeRepository.delete(id);
+    }
+
+    @Override
+    public Flux<EmployeeDto> search(Long id, String name, SearchMode mode, Boolean isTeamLead, Integer idTeam) {
+        return employeeRepository.search(id, name, mode, isTeamLead, idTeam).map(EmployeeMapper.MAPPER::mapToEmployeeDto);
+    }
+}
@@ -0,0 +1,54 @@
+package com.employees.employees.service.impl;
+
+import com.employees.employees.dto.TeamDto;
+import com.employees.employees.exception.RecordDoesNotExists;
+import com.employees.employees.mapper.TeamMapper;
+import com.employees.employees.repository.ReactiveTeamRepository;
+import com.employees.employees.search.SearchMode;
+import com.employees.employees.service.ReactiveTeamService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+public class ReactiveTeamServiceImpl implements ReactiveTeamService {
+    private final ReactiveTeamRepository teamRepository;
+
+    public ReactiveTeamServiceImpl(ReactiveTeamRepository teamRepository) {
+        this.teamRepository = teamRepository;
+    }
+
+    @Override
+    public Mono<TeamDto> create(String name) {
+        return teamRepository.create(name).map(TeamMapper.MAPPER::mapToTeamDto);
+    }
+
+    @Override
+    public Flux<TeamDto> getAll() {
+        return teamRepository.getAll().map(TeamMapper.MAPPER::mapToTeamDto);
+    }
+
+    @Override
+    public Mono<TeamDto> getById(Integer id) {
+        return teamRepository.getById(id)
+                .switchIfEmpty(Mono.error(() -> new RecordDoesNotExists(String.format("Team ID %s does not exist", id))))
+                .map(TeamMapper.MAPPER::mapToTeamDto);
+    }
+
+    @Override
+    public Mono<TeamDto> update(Integer id, TeamDto teamDto) {
+        return teamRepository.update(id, TeamMapper.MAPPER.mapToTeam(teamDto)).map(TeamMapper.MAPPER::mapToTeamDto);
+    }
+
+    @Override
+    public Mono<Void> delete(Integer id) {
+        return teamRepository.delete(id);
+    }
+
+    @Override
+    public Flux<TeamDto> search(Integer id, String name, SearchMode mode) {
+        return teamRepository.search(id, name, mode).map(TeamMapper.MAPPER::mapToTeamDto);
+    }
+}
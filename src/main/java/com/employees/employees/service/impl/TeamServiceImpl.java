@@ -1,11 +1,18 @@
 package com.employees.employees.service.impl;
 
 import com.employees.employees.dto.TeamDto;
+import com.employees.employees.dto.TeamStatsDto;
+import com.employees.employees.dto.TeamWithMembersDto;
 import com.employees.employees.entity.Team;
+import com.employees.employees.entity.TeamWithMembers;
 import com.employees.employees.exception.RecordDoesNotExists;
+import com.employees.employees.exception.ServiceUnavailableException;
 import com.employees.employees.mapper.TeamMapper;
 import com.employees.employees.repository.TeamRepository;
+import com.employees.employees.search.SearchMode;
+import com.employees.employees.stats.TeamStatistics;
 import com.employees.employees.service.TeamService;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,11 +20,14 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Profile("!reactive")
 public class TeamServiceImpl implements TeamService {
     private final TeamRepository teamRepository;
+    private final TeamStatistics teamStatistics;
 
-    public TeamServiceImpl(TeamRepository teamRepository) {
+    public TeamServiceImpl(TeamRepository teamRepository, TeamStatistics teamStatistics) {
         this.teamRepository = teamRepository;
+        this.teamStatistics = teamStatistics;
     }
 
     @Override
@@ -40,6 +50,21 @@ public class TeamServiceImpl implements TeamService {
         return TeamMapper.MAPPER.mapToTeamDto(team.get());
     }
 
+    @Override
+    public TeamWithMembersDto getWithMembers(Integer id) {
+        Optional<TeamWithMembers> team = teamRepository.getWithMembers(id);
+        if (!team.isPresent()) {
+            throw new RecordDoesNotExists(String.format("Team ID %s does not exist", id));
+        }
+        return TeamMapper.MAPPER.mapToTeamWithMembersDto(team.get());
+    }
+
+    @Override
+    public List<TeamWithMembersDto> getAllWithMembers() {
+        List<TeamWithMembers> teams = teamRepository.getAllWithMembers();
+        return teams.stream().map(team -> TeamMapper.MAPPER.mapToTeamWithMembersDto(team)).collect(Collectors.toList());
+    }
+
     @Override
     public TeamDto update(Integer id, TeamDto teamDto) {
         Team team = TeamMapper.MAPPER.mapToTeam(teamDto);
@@ -53,8 +78,28 @@ public class TeamServiceImpl implements TeamService {
     }
 
     @Override
-    public List<TeamDto> search(Integer id, String name) {
-        List<Team> teams = teamRepository.search(id, name);
+    public List<TeamDto> search(Integer id, String name, SearchMode mode) {
+        List<Team> teams = teamRepository.search(id, name, mode);
         return teams.stream().map(team -> TeamMapper.MAPPER.mapToTeamDto(team)).collect(Collectors.toList());
     }
+
+    @Override
+    public TeamStatsDto getStats(Integer id) {
+        checkStatsReady();
+        return teamStatistics.get(id)
+                .map(stats -> TeamMapper.MAPPER.mapToTeamStatsDto(stats))
+                .orElseThrow(() -> new RecordDoesNotExists(String.format("Team ID %s does not exist", id)));
+    }
+
+    @Override
+    public List<TeamStatsDto> getAllStats() {
+        checkStatsReady();
+        return teamStatistics.getAll().stream().map(stats -> TeamMapper.MAPPER.mapToTeamStatsDto(stats)).collect(Collectors.toList());
+    }
+
+    private void checkStatsReady() {
+        if (!teamStatistics.isReady()) {
+            throw new ServiceUnavailableException("Team statistics are not loaded yet");
+        }
+    }
 }
\ No newline at end of file
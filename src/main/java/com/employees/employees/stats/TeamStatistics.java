@@ -0,0 +1,169 @@
+package com.employees.employees.stats;
+
+import com.employees.employees.entity.Employee;
+import com.employees.employees.entity.TeamStats;
+import com.employees.employees.event.ChangeType;
+import com.employees.employees.event.EmployeeChangedEvent;
+import com.employees.employees.event.TeamChangedEvent;
+import com.employees.employees.repository.TeamRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Headcount and lead count per team, kept in memory and updated from {@link EmployeeChangedEvent}s
+ * and {@link TeamChangedEvent}s, so reads are a map lookup and never touch the database.
+ * <p>
+ * Updates and deletes carry the row they replaced, which the repository knows exactly from its own
+ * write, so every change is applied as a delta. A GROUP BY query rebuilds the statistics every
+ * reconcile-interval, which picks up writes made by other nodes. An event without the previous row
+ * cannot be applied and marks the statistics dirty, which only brings that rebuild forward.
+ * <p>
+ * Changes that arrive while the query runs are replayed onto its result instead of being lost. One
+ * that committed just before the query started may be counted twice, until the next rebuild.
+ */
+@Component
+@Profile("!reactive")
+public class TeamStatistics {
+    private static final Logger logger = LoggerFactory.getLogger(TeamStatistics.class);
+
+    private final TeamRepository teamRepository;
+    private final Duration reconcileInterval;
+    private final Map<Integer, TeamStats> stats = new ConcurrentHashMap<>();
+    // Bumped by every change that could not be applied, so a reconcile that raced with one is repeated.
+    private final AtomicLong missed = new AtomicLong();
+    // Changes applied while a reconcile query runs, null otherwise. Guarded by this.
+    private List<Consumer<Map<Integer, TeamStats>>> raced;
+    private volatile boolean ready;
+    private volatile boolean dirty = true;
+    private volatile long lastReconcileNanos;
+
+    public TeamStatistics(TeamRepository teamRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${employees.stats.reconcile-interval:PT5M}") Duration reconcileInterval) {
+        this.teamRepository = teamRepository;
+        this.reconcileInterval = reconcileInterval;
+        Gauge.builder("employees.stats.teams", stats, Map::size)
+                .description("Teams tracked by the in-memory team statistics")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Optional<TeamStats> get(Integer idTeam) {
+        return Optional.ofNullable(stats.get(idTeam));
+    }
+
+    public List<TeamStats> getAll() {
+        List<TeamStats> all = new ArrayList<>(stats.values());
+        all.sort(Comparator.comparing(TeamStats::getIdTeam));
+        return all;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.getType() != ChangeType.CREATED && event.getPrevious() == null) {
+            missed.incrementAndGet();
+            dirty = true;
+            return;
+        }
+        apply(teams -> {
+            if (event.getPrevious() != null) {
+                add(teams, event.getPrevious(), -1);
+            }
+            if (event.getEmployee() != null) {
+                add(teams, event.getEmployee(), 1);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamChanged(TeamChangedEvent event) {
+        if (event.getType() == ChangeType.CREATED) {
+            LocalDateTime now = LocalDateTime.now();
+            apply(teams -> teams.putIfAbsent(event.getId(), new TeamStats(event.getId(), 0, 0, now)));
+        } else if (event.getType() == ChangeType.DELETED) {
+            apply(teams -> teams.remove(event.getId()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employees.stats.check-interval:PT5S}")
+    public void reconcileIfNeeded() {
+        if (dirty || System.nanoTime() - lastReconcileNanos >= reconcileInterval.toNanos()) {
+            reconcile();
+        }
+    }
+
+    public void reconcile() {
+        long missedBefore = missed.get();
+        synchronized (this) {
+            raced = new ArrayList<>();
+        }
+        List<TeamStats> counted;
+        try {
+            counted = teamRepository.getStats();
+        } catch (DataAccessException e) {
+            synchronized (this) {
+                raced = null;
+            }
+            logger.warn("Team statistics reconciliation failed, retrying on the next check: {}", e.getMessage());
+            return;
+        }
+        Map<Integer, TeamStats> reconciled = new HashMap<>();
+        counted.forEach(team -> reconciled.put(team.getIdTeam(), team));
+        synchronized (this) {
+            raced.forEach(change -> change.accept(reconciled));
+            raced = null;
+            LocalDateTime now = LocalDateTime.now();
+            for (TeamStats team : reconciled.values()) {
+                TeamStats known = stats.get(team.getIdTeam());
+                boolean unchanged = known != null && known.getHeadcount() == team.getHeadcount() && known.getLeads() == team.getLeads();
+                if (ready && !unchanged) {
+                    logger.debug("Team {} statistics corrected to headcount {}, leads {}", team.getIdTeam(), team.getHeadcount(), team.getLeads());
+                }
+                stats.put(team.getIdTeam(), new TeamStats(team.getIdTeam(), team.getHeadcount(), team.getLeads(),
+                        unchanged ? known.getLastModified() : (ready ? now : team.getLastModified())));
+            }
+            stats.keySet().retainAll(reconciled.keySet());
+        }
+        lastReconcileNanos = System.nanoTime();
+        ready = true;
+        dirty = missed.get() != missedBefore;
+    }
+
+    private synchronized void apply(Consumer<Map<Integer, TeamStats>> change) {
+        change.accept(stats);
+        if (raced != null) {
+            raced.add(change);
+        }
+    }
+
+    private static void add(Map<Integer, TeamStats> teams, Employee employee, int delta) {
+        int leadDelta = Boolean.TRUE.equals(employee.getIsTeamLead()) ? delta : 0;
+        LocalDateTime now = LocalDateTime.now();
+        teams.compute(employee.getIdTeam(), (idTeam, current) -> current == null
+                ? new TeamStats(idTeam, Math.max(delta, 0), Math.max(leadDelta, 0), now)
+                : new TeamStats(idTeam, current.getHeadcount() + delta, current.getLeads() + leadDelta, now));
+    }
+}
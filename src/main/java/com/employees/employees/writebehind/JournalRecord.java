@@ -0,0 +1,26 @@
+package com.employees.employees.writebehind;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of the write-behind journal: the full employee row after an acknowledged update, a
+ * deletion that cancels the pending update of that id, or a flushed marker. baseVersion is the version
+ * in the database the update was checked against; the flush only writes the row while the database is
+ * still at it. A flushed marker says the flush settled the row at {@code version}: a pending row up to
+ * that version is done, a newer one now builds on it.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JournalRecord {
+    private Long id;
+    private String name;
+    private Boolean isTeamLead;
+    private Integer idTeam;
+    private Integer version;
+    private Integer baseVersion;
+    private Boolean deleted;
+    private Boolean flushed;
+}
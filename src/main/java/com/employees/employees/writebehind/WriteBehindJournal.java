@@ -0,0 +1,227 @@
+package com.employees.employees.writebehind;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Append-only file of {@link JournalRecord}s, one JSON document per line.
+ * <p>
+ * {@link #append} only writes, {@link #sync} makes everything up to a record durable. Callers that
+ * sync at the same time share one fsync, so the cost per update drops as the rate goes up.
+ * {@link #compact} replaces the file with a snapshot of the pending records plus whatever was appended
+ * after the snapshot was taken, so the file does not grow without bound. A torn last line from a crash
+ * is skipped on {@link #readAll}.
+ */
+public class WriteBehindJournal implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindJournal.class);
+
+    private final Path path;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final Object forceLock = new Object();
+    private final Object compactLock = new Object();
+    // Guarded by this.
+    private FileChannel channel;
+    private long size;
+    private long records;
+    private long compactions;
+    private long written;
+    private volatile long forced;
+
+    public WriteBehindJournal(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.writer = objectMapper.writerFor(JournalRecord.class);
+        this.reader = objectMapper.readerFor(JournalRecord.class);
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.channel = open(path);
+            this.size = channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the write-behind journal " + path, e);
+        }
+    }
+
+    public synchronized List<JournalRecord> readAll() {
+        List<JournalRecord> read = new ArrayList<>();
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the write-behind journal " + path, e);
+        }
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.get(i).isEmpty()) {
+                continue;
+            }
+            try {
+                read.add(reader.readValue(lines.get(i)));
+            } catch (JsonProcessingException e) {
+                logger.warn("Skipping unreadable write-behind journal line {} of {}: {}", i + 1, lines.size(), e.getOriginalMessage());
+            }
+        }
+        records = lines.size();
+        return read;
+    }
+
+    /**
+     * Writes the record without waiting for the disk, returns the number to pass to {@link #sync}.
+     */
+    public long append(JournalRecord record) {
+        return append(List.of(record));
+    }
+
+    /**
+     * Writes the records in one go, returns the number of the last one to pass to {@link #sync}.
+     */
+    public long append(Collection<JournalRecord> appended) {
+        ByteBuffer lines = ByteBuffer.wrap(toLines(appended));
+        synchronized (this) {
+            try {
+                while (lines.hasRemaining()) {
+                    size += channel.write(lines);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot append to the write-behind journal " + path, e);
+            }
+            records += appended.size();
+            written += appended.size();
+            return written;
+        }
+    }
+
+    /**
+     * Records in the file, including those that {@link #compact} would drop.
+     */
+    public synchronized long getRecordCount() {
+        return records;
+    }
+
+    /**
+     * Where the file ends now. Taken together with the snapshot that is later passed to {@link #compact},
+     * while no records can be appended.
+     */
+    public synchronized Mark mark() {
+        return new Mark(size, records, compactions);
+    }
+
+    public void sync(long record) {
+        while (forced < record) {
+            synchronized (forceLock) {
+                if (forced >= record) {
+                    return;
+                }
+                FileChannel current;
+                long target;
+                synchronized (this) {
+                    current = channel;
+                    target = written;
+                }
+                try {
+                    current.force(false);
+                    forced = Math.max(forced, target);
+                } catch (ClosedChannelException e) {
+                    // Replaced by compact, which synced the new file before closing this one.
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot sync the write-behind journal " + path, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces the file with {@code snapshot} followed by the records appended since {@code mark}. The
+     * snapshot is written without blocking appends, which only wait while the tail is copied. Does
+     * nothing if the file was compacted since the mark was taken.
+     */
+    public void compact(Collection<JournalRecord> snapshot, Mark mark) {
+        Path next = path.resolveSibling(path.getFileName() + ".next");
+        synchronized (compactLock) {
+            try (FileChannel out = FileChannel.open(next, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(toLines(snapshot));
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                synchronized (this) {
+                    if (mark.compactions != compactions) {
+                        return;
+                    }
+                    try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+                        long position = mark.size;
+                        while (position < size) {
+                            position += in.transferTo(position, size - position, out);
+                        }
+                    }
+                    out.force(false);
+                    Files.move(next, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    FileChannel previous = channel;
+                    channel = open(path);
+                    previous.close();
+                    size = channel.size();
+                    records = snapshot.size() + records - mark.records;
+                    forced = written;
+                    compactions++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot compact the write-behind journal " + path, e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private byte[] toLines(Collection<JournalRecord> lines) {
+        StringBuilder text = new StringBuilder();
+        try {
+            for (JournalRecord record : lines) {
+                text.append(writer.writeValueAsString(record)).append('\n');
+            }
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Cannot write a write-behind journal record", e);
+        }
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * The end of the file as of {@link #mark}.
+     */
+    public static final class Mark {
+        private final long size;
+        private final long records;
+        private final long compactions;
+
+        private Mark(long size, long records, long compactions) {
+            this.size = size;
+            this.records = records;
+            this.compactions = compactions;
+        }
+    }
+}
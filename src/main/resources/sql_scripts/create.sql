@@ -1,13 +1,30 @@
 CREATE TABLE Team (
     id INT AUTO_INCREMENT PRIMARY KEY,
     name VARCHAR(50) NOT NULL UNIQUE,
-    isDeleted BOOLEAN DEFAULT FALSE
-);
+    isDeleted BOOLEAN DEFAULT FALSE,
+    version INT NOT NULL DEFAULT 0,
+    FULLTEXT INDEX ftTeamName (name)
+) DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci;
 
 CREATE TABLE Employee (
     id BIGINT PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
     idTeam INT NOT NULL,
     isTeamLead BOOLEAN DEFAULT FALSE,
-    FOREIGN KEY (idTeam) REFERENCES Team(id)
-);
\ No newline at end of file
+    version INT NOT NULL DEFAULT 0,
+    FOREIGN KEY (idTeam) REFERENCES Team(id),
+    INDEX idxEmployeeName (name),
+    INDEX idxEmployeeTeamLead (idTeam, isTeamLead),
+    FULLTEXT INDEX ftEmployeeName (name)
+) DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci;
+
+CREATE TABLE ChangeLog (
+    seq BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity VARCHAR(16) NOT NULL,
+    entityId BIGINT NOT NULL,
+    changeType VARCHAR(16) NOT NULL,
+    version INT NULL,
+    payload JSON NULL,
+    changedAt TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    INDEX idxChangeLogChangedAt (changedAt)
+) DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci;
@@ -0,0 +1,25 @@
+-- Brings a database created by an older create.sql up to date. Statements are grouped by change, apply the ones not applied yet.
+
+-- Indexed employee and team search.
+ALTER TABLE Team CONVERT TO CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci;
+ALTER TABLE Employee CONVERT TO CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci;
+ALTER TABLE Team ADD FULLTEXT INDEX ftTeamName (name);
+ALTER TABLE Employee ADD INDEX idxEmployeeName (name);
+ALTER TABLE Employee ADD INDEX idxEmployeeTeamLead (idTeam, isTeamLead);
+ALTER TABLE Employee ADD FULLTEXT INDEX ftEmployeeName (name);
+
+-- Row versions for ETags, bumped by every update.
+ALTER TABLE Team ADD COLUMN version INT NOT NULL DEFAULT 0;
+ALTER TABLE Employee ADD COLUMN version INT NOT NULL DEFAULT 0;
+
+-- Change feed (GET /api/changes), appended to in the transaction of every write.
+CREATE TABLE ChangeLog (
+    seq BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity VARCHAR(16) NOT NULL,
+    entityId BIGINT NOT NULL,
+    changeType VARCHAR(16) NOT NULL,
+    version INT NULL,
+    payload JSON NULL,
+    changedAt TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    INDEX idxChangeLogChangedAt (changedAt)
+) DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci;
@@ -0,0 +1,102 @@
+package com.employees.employees.changesTest;
+
+import com.employees.employees.changes.ChangeLogRecorder;
+import com.employees.employees.entity.Change;
+import com.employees.employees.entity.Employee;
+import com.employees.employees.entity.Team;
+import com.employees.employees.event.ChangeEntity;
+import com.employees.employees.event.ChangeType;
+import com.employees.employees.event.EmployeeChangedEvent;
+import com.employees.employees.event.TeamChangedEvent;
+import com.employees.employees.repository.ChangeLogRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ChangeLogRecorderTest {
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    private ChangeLogRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        recorder = new ChangeLogRecorder(changeLogRepository, new ObjectMapper(), Duration.ofDays(7));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    private static Employee employee(long id, int version) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName("Ana");
+        employee.setIsTeamLead(false);
+        employee.setIdTeam(1);
+        employee.setVersion(version);
+        return employee;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testChangeWithoutTransactionIsAppendedRightAway() {
+        recorder.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 1L, employee(1L, 3)));
+
+        ArgumentCaptor<List<Change>> captor = ArgumentCaptor.forClass(List.class);
+        verify(changeLogRepository).append(captor.capture());
+        Change change = captor.getValue().get(0);
+        assertEquals(ChangeEntity.EMPLOYEE, change.getEntity());
+        assertEquals(1L, change.getEntityId());
+        assertEquals(3, change.getVersion());
+        assertTrue(change.getPayload().contains("\"name\":\"Ana\""));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testChangesOfOneTransactionAreAppendedAsOneBatchBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        recorder.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.CREATED, 1L, employee(1L, 0)));
+        recorder.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.DELETED, 2L, null));
+        Team team = new Team();
+        team.setId(5);
+        team.setName("Platform");
+        team.setVersion(1);
+        recorder.onTeamChanged(new TeamChangedEvent(ChangeType.UPDATED, 5, team));
+        verify(changeLogRepository, never()).append(any());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+        synchronizations.get(0).beforeCommit(false);
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        ArgumentCaptor<List<Change>> captor = ArgumentCaptor.forClass(List.class);
+        verify(changeLogRepository).append(captor.capture());
+        List<Change> changes = captor.getValue();
+        assertEquals(3, changes.size());
+        assertNull(changes.get(1).getPayload());
+        assertEquals(ChangeEntity.TEAM, changes.get(2).getEntity());
+        assertEquals(5L, changes.get(2).getEntityId());
+        assertFalse(TransactionSynchronizationManager.hasResource(recorder));
+    }
+}
@@ -0,0 +1,165 @@
+package com.employees.employees.changesTest;
+
+import com.employees.employees.changes.ChangeStream;
+import com.employees.employees.entity.Employee;
+import com.employees.employees.event.ChangeType;
+import com.employees.employees.event.EmployeeChangedEvent;
+import com.employees.employees.event.TeamChangedEvent;
+import com.employees.employees.exception.ServiceUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChangeStreamTest {
+    // Sender tasks are queued here and only run when the test says so, like a sender stuck on a slow socket.
+    private final Queue<Runnable> senderTasks = new ArrayDeque<>();
+    private SimpleMeterRegistry meterRegistry;
+    private ChangeStream changeStream;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        changeStream = new ChangeStream(new ObjectMapper().findAndRegisterModules(), meterRegistry, 2,
+                Duration.ofMinutes(1), 3, Duration.ofSeconds(5), senderTasks::add);
+    }
+
+    private static Employee employee(long id, int idTeam) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName("Ana");
+        employee.setIsTeamLead(false);
+        employee.setIdTeam(idTeam);
+        employee.setVersion(1);
+        return employee;
+    }
+
+    private void runSender() {
+        while (!senderTasks.isEmpty()) {
+            senderTasks.poll().run();
+        }
+    }
+
+    @Test
+    void testRepeatedChangesOfOneRecordAreCoalesced() {
+        changeStream.subscribe(null);
+
+        for (int i = 0; i < 10; i++) {
+            changeStream.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 1L, employee(1L, 1)));
+        }
+
+        assertEquals(1, changeStream.getSubscriberCount());
+        assertEquals(1, senderTasks.size());
+        runSender();
+        assertEquals(1, changeStream.getSubscriberCount());
+    }
+
+    @Test
+    void testSlowSubscriberIsDisconnected() {
+        changeStream.subscribe(null);
+
+        changeStream.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 1L, employee(1L, 1)));
+        changeStream.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 2L, employee(2L, 1)));
+        assertEquals(1, changeStream.getSubscriberCount());
+        changeStream.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 3L, employee(3L, 1)));
+
+        assertEquals(0, changeStream.getSubscriberCount());
+        assertEquals(1.0, meterRegistry.get("employees.stream.slow.disconnects").counter().count());
+    }
+
+    @Test
+    void testTeamFilter() {
+        changeStream.subscribe(2);
+
+        changeStream.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.CREATED, 1L, employee(1L, 1)));
+        changeStream.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 1L, employee(1L, 1), employee(1L, 1)));
+        changeStream.onTeamChanged(new TeamChangedEvent(ChangeType.DELETED, 1));
+        assertTrue(senderTasks.isEmpty());
+
+        // Moving out of team 2 is still news for team 2.
+        changeStream.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 1L, employee(1L, 1), employee(1L, 2)));
+        assertEquals(1, senderTasks.size());
+    }
+
+    @Test
+    void testChangeFromUnknownTeamReachesEveryFilter() {
+        changeStream.subscribe(2);
+
+        changeStream.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.DELETED, 1L, null));
+
+        assertEquals(1, senderTasks.size());
+    }
+
+    @Test
+    void testSubscribersAreLimited() {
+        changeStream.subscribe(null);
+        changeStream.subscribe(null);
+        changeStream.subscribe(null);
+
+        assertThrows(ServiceUnavailableException.class, () -> changeStream.subscribe(null));
+    }
+
+    @Test
+    void testStalledSubscriberDoesNotHoldTheSender() throws InterruptedException {
+        // One sender thread, so a blocked write would starve every other subscriber.
+        ThreadPoolExecutor sender = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        ChangeStream stream = new ChangeStream(new ObjectMapper().findAndRegisterModules(), meterRegistry, 16,
+                Duration.ofMinutes(1), 10, Duration.ofMillis(50), sender);
+        CountDownLatch writeBlocked = new CountDownLatch(1);
+        CountDownLatch unblock = new CountDownLatch(1);
+        BlockingQueue<SseEmitter.SseEventBuilder> received = new LinkedBlockingQueue<>();
+        stream.subscribe(new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                // Like a servlet write to a browser whose TCP window is full.
+                writeBlocked.countDown();
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, null);
+        stream.subscribe(new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                received.add(builder);
+            }
+        }, null);
+
+        try {
+            stream.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 1L, employee(1L, 1)));
+            assertTrue(writeBlocked.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            stream.disconnectStalled();
+
+            assertEquals(1, stream.getSubscriberCount());
+            assertEquals(1.0, meterRegistry.get("employees.stream.stalled.disconnects").counter().count());
+            stream.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 2L, employee(2L, 1)));
+            assertNotNull(received.poll(5, TimeUnit.SECONDS));
+            assertNotNull(received.poll(5, TimeUnit.SECONDS));
+            assertEquals(2, sender.getCorePoolSize());
+        } finally {
+            unblock.countDown();
+        }
+        // The extra thread goes away once the blocked write returns.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sender.getCorePoolSize() != 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, sender.getCorePoolSize());
+        sender.shutdownNow();
+    }
+}
@@ -0,0 +1,135 @@
+package com.employees.employees.memoryTest;
+
+import com.employees.employees.entity.Employee;
+import com.employees.employees.entity.Team;
+import com.employees.employees.entity.TeamStats;
+import com.employees.employees.event.EmployeeChangedEvent;
+import com.employees.employees.exception.RecordAlreadyExistsException;
+import com.employees.employees.exception.RecordDoesNotExists;
+import com.employees.employees.exception.VersionConflictException;
+import com.employees.employees.memory.InMemoryStore;
+import com.employees.employees.repository.impl.InMemoryEmployeeRepository;
+import com.employees.employees.repository.impl.InMemoryTeamRepository;
+import com.employees.employees.search.SearchMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class InMemoryRepositoryTest {
+    private ApplicationEventPublisher eventPublisher;
+    private InMemoryEmployeeRepository employeeRepository;
+    private InMemoryTeamRepository teamRepository;
+
+    @BeforeEach
+    void setUp() {
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        InMemoryStore store = new InMemoryStore(new SimpleMeterRegistry());
+        employeeRepository = new InMemoryEmployeeRepository(store, eventPublisher);
+        teamRepository = new InMemoryTeamRepository(store, eventPublisher);
+    }
+
+    private static Employee employee(long id, String name, int idTeam) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName(name);
+        employee.setIdTeam(idTeam);
+        return employee;
+    }
+
+    @Test
+    void createChecksTeamAndDuplicateIds() {
+        Team team = teamRepository.create("Alpha");
+        employeeRepository.create(employee(1, "Mirko Petrovic", team.getId()));
+
+        assertThrows(RecordAlreadyExistsException.class, () -> employeeRepository.create(employee(1, "Other", team.getId())));
+        assertThrows(RecordDoesNotExists.class, () -> employeeRepository.create(employee(2, "Ana", 99)));
+        teamRepository.delete(team.getId());
+        assertThrows(RecordDoesNotExists.class, () -> employeeRepository.create(employee(3, "Ana", team.getId())));
+        // Soft-deleted teams keep their name taken.
+        assertThrows(RecordAlreadyExistsException.class, () -> teamRepository.create("alpha"));
+        assertTrue(teamRepository.getAll().isEmpty());
+    }
+
+    @Test
+    void updateChecksVersionAndPublishesPrevious() {
+        int alpha = teamRepository.create("Alpha").getId();
+        int beta = teamRepository.create("Beta").getId();
+        employeeRepository.create(employee(1, "Mirko Petrovic", alpha));
+
+        Employee changes = new Employee();
+        changes.setIdTeam(beta);
+        changes.setVersion(0);
+        Employee updated = employeeRepository.patch(1L, changes);
+
+        assertEquals("Mirko Petrovic", updated.getName());
+        assertEquals(beta, updated.getIdTeam());
+        assertEquals(1, updated.getVersion());
+        assertThrows(VersionConflictException.class, () -> employeeRepository.update(1L, changes));
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(4)).publishEvent(events.capture());
+        assertEquals(alpha, ((EmployeeChangedEvent) events.getValue()).getPrevious().getIdTeam());
+
+        List<TeamStats> stats = teamRepository.getStats();
+        assertEquals(0, stats.get(0).getHeadcount());
+        assertEquals(1, stats.get(1).getHeadcount());
+        assertEquals(List.of(1L), ids(employeeRepository.search(null, null, null, null, beta)));
+    }
+
+    @Test
+    void searchMatchesNamesLikeTheDatabase() {
+        int alpha = teamRepository.create("Alpha").getId();
+        employeeRepository.create(employee(3, "Petar Mirkovic", alpha));
+        employeeRepository.create(employee(1, "Mirko Petrovic", alpha));
+        employeeRepository.create(employee(2, "Ana Jovic", alpha));
+
+        assertEquals(List.of(1L), ids(employeeRepository.search(null, "mir", SearchMode.PREFIX, null, null)));
+        assertEquals(List.of(1L, 3L), ids(employeeRepository.search(null, "pet mir", SearchMode.TOKEN, null, null)));
+        assertEquals(List.of(1L, 2L, 3L), ids(employeeRepository.search(null, "ov", SearchMode.CONTAINS, null, null)));
+        assertEquals(List.of(2L), ids(employeeRepository.search(2L, "an", SearchMode.PREFIX, null, alpha)));
+    }
+
+    @Test
+    void pagesStayOrderedUnderChurn() {
+        int alpha = teamRepository.create("Alpha").getId();
+        Random random = new Random(42);
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 20000; i++) {
+            long id = random.nextInt(5000);
+            if (expected.add(id)) {
+                employeeRepository.create(employee(id, "Employee " + id, alpha));
+            } else {
+                employeeRepository.delete(id);
+                expected.remove(id);
+            }
+        }
+
+        List<Long> paged = new ArrayList<>();
+        Long after = null;
+        List<Employee> page;
+        do {
+            page = employeeRepository.getPage(after, 100);
+            paged.addAll(ids(page));
+            after = page.isEmpty() ? null : page.get(page.size() - 1).getId();
+        } while (page.size() == 100);
+
+        assertEquals(expected.stream().sorted().collect(Collectors.toList()), paged);
+        expected.forEach(id -> assertTrue(employeeRepository.getById(id).isPresent()));
+        assertEquals(expected.size(), teamRepository.getStats().get(0).getHeadcount());
+    }
+
+    private static List<Long> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).collect(Collectors.toList());
+    }
+}
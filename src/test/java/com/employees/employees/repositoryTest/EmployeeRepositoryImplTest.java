@@ -0,0 +1,184 @@
+package com.employees.employees.repositoryTest;
+
+import com.employees.employees.config.CacheConfig;
+import com.employees.employees.entity.Employee;
+import com.employees.employees.event.EmployeeChangedEvent;
+import com.employees.employees.exception.RecordDoesNotExists;
+import com.employees.employees.repository.TeamRepository;
+import com.employees.employees.repository.impl.EmployeeRepositoryImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class EmployeeRepositoryImplTest {
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private TeamRepository teamRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private ConcurrentMapCacheManager cacheManager;
+    private EmployeeRepositoryImpl employeeRepository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        teamRepository = mock(TeamRepository.class);
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.EMPLOYEES);
+        employeeRepository = new EmployeeRepositoryImpl(jdbcTemplate, teamRepository, cacheManager,
+                eventPublisher, new SimpleMeterRegistry(), 1000);
+        cacheManager.getCache(CacheConfig.EMPLOYEES).put(1L, employee(1, 0));
+    }
+
+    private static Employee employee(int idTeam, int version) {
+        Employee employee = new Employee();
+        employee.setId(1L);
+        employee.setName("Mirko Petrovic");
+        employee.setIsTeamLead(false);
+        employee.setIdTeam(idTeam);
+        employee.setVersion(version);
+        return employee;
+    }
+
+    private EmployeeChangedEvent publishedEvent() {
+        ArgumentCaptor<EmployeeChangedEvent> event = ArgumentCaptor.forClass(EmployeeChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        return event.getValue();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void updateOverAStaleCachedRowLocksTheRowItReplaces() {
+        // A concurrent move already wrote version 1, the cache still holds version 0.
+        when(jdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenReturn(0, 1);
+        when(jdbcTemplate.query(contains("FOR UPDATE"), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(employee(2, 1)));
+        Employee changes = new Employee();
+        changes.setIdTeam(3);
+
+        Employee updated = employeeRepository.update(1L, changes);
+
+        assertEquals(2, updated.getVersion());
+        assertEquals(3, updated.getIdTeam());
+        EmployeeChangedEvent event = publishedEvent();
+        assertEquals(2, event.getPrevious().getIdTeam());
+        assertEquals(1, event.getPrevious().getVersion());
+    }
+
+    @Test
+    void updateOfTheCachedVersionKeepsPrevious() {
+        when(jdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenReturn(1);
+
+        employeeRepository.update(1L, employee(2, 0));
+
+        assertEquals(1, publishedEvent().getPrevious().getIdTeam());
+    }
+
+    @Test
+    void patchWithTheCachedVersionIsOneStatement() {
+        when(jdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenReturn(1);
+        Employee changes = new Employee();
+        changes.setIdTeam(2);
+        changes.setVersion(0);
+
+        Employee patched = employeeRepository.patch(1L, changes);
+
+        assertEquals(1, patched.getVersion());
+        assertEquals("Mirko Petrovic", patched.getName());
+        verify(jdbcTemplate).update(anyString(), any(SqlParameterSource.class));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void patchWithoutVersionIsGuardedByTheCachedOne() {
+        when(jdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenReturn(1);
+        Employee changes = new Employee();
+        changes.setIdTeam(2);
+
+        Employee patched = employeeRepository.patch(1L, changes);
+
+        assertEquals(1, patched.getVersion());
+        assertEquals(1, publishedEvent().getPrevious().getIdTeam());
+        verify(jdbcTemplate).update(contains("AND version = :version"), any(SqlParameterSource.class));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void patchOfAnUncachedRowLocksItFirst() {
+        cacheManager.getCache(CacheConfig.EMPLOYEES).clear();
+        when(jdbcTemplate.query(contains("FOR UPDATE"), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(employee(1, 0)));
+        when(jdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenReturn(1);
+        Employee changes = new Employee();
+        changes.setIdTeam(2);
+        changes.setVersion(0);
+
+        Employee patched = employeeRepository.patch(1L, changes);
+
+        assertEquals(1, patched.getVersion());
+        assertEquals(1, publishedEvent().getPrevious().getIdTeam());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deleteOfAStaleCachedRowLocksTheRowItDeletes() {
+        when(jdbcTemplate.update(contains("AND version"), any(SqlParameterSource.class))).thenReturn(0);
+        when(jdbcTemplate.query(contains("FOR UPDATE"), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(employee(2, 1)));
+        when(jdbcTemplate.update(eq("DELETE FROM Employee WHERE id = :id"), any(SqlParameterSource.class))).thenReturn(1);
+
+        employeeRepository.delete(1L);
+
+        assertEquals(2, publishedEvent().getPrevious().getIdTeam());
+        assertNull(cacheManager.getCache(CacheConfig.EMPLOYEES).get(1L).get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getByIdsKeepsAnEntryWrittenDuringItsQuery() {
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES);
+        cache.clear();
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class))).thenAnswer(invocation -> {
+            // An update commits and caches version 1 after the query read version 0.
+            cache.put(1L, employee(2, 1));
+            return List.of(employee(1, 0));
+        });
+
+        employeeRepository.getByIds(List.of(1L, 2L));
+
+        assertEquals(1, ((Employee) cache.get(1L).get()).getVersion());
+        assertNull(cache.get(2L).get());
+    }
+
+    @Test
+    void batchIntoATeamRemovedMeanwhileDoesNotExist() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class)))
+                .thenThrow(new DataIntegrityViolationException("foreign key constraint fails"));
+
+        assertThrows(RecordDoesNotExists.class, () -> employeeRepository.createAll(List.of(employee(1, 0))));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void batchIntoATeamDeletedMeanwhileDoesNotExist() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class))).thenReturn(new int[]{1});
+        when(teamRepository.getExistingIds(Set.of(1))).thenReturn(Set.of());
+
+        assertThrows(RecordDoesNotExists.class, () -> employeeRepository.createAll(List.of(employee(1, 0))));
+        verifyNoInteractions(eventPublisher);
+    }
+}
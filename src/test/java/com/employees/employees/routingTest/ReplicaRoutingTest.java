@@ -0,0 +1,174 @@
+package com.employees.employees.routingTest;
+
+import com.employees.employees.routing.ReadWriteRoutingDataSource;
+import com.employees.employees.routing.ReadYourWritesFilter;
+import com.employees.employees.routing.ReplicaReadAspect;
+import com.employees.employees.routing.ReplicaRouting;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.servlet.http.Cookie;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ReplicaRoutingTest {
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource replica;
+    @Mock
+    private Connection connection;
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    private ReadWriteRoutingDataSource dataSource;
+    private ReplicaRouting routing;
+    private ReplicaReadAspect aspect;
+
+    @BeforeEach
+    void setUp() throws Throwable {
+        MockitoAnnotations.openMocks(this);
+        when(primary.getConnection()).thenReturn(connection);
+        when(replica.getConnection()).thenReturn(connection);
+        dataSource = new ReadWriteRoutingDataSource(primary, replica);
+        clearInvocations(primary, replica);
+        routing = new ReplicaRouting(Duration.ofSeconds(5));
+        aspect = new ReplicaReadAspect(routing);
+        when(joinPoint.proceed()).thenAnswer(invocation -> {
+            try (Connection con = dataSource.getConnection()) {
+                con.createStatement();
+            }
+            return null;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void readOutsideTransactionUsesReplica() throws Throwable {
+        aspect.routeToReplica(joinPoint);
+
+        verify(replica).getConnection();
+        verify(primary, never()).getConnection();
+        assertEquals(ReplicaRouting.Route.PRIMARY, ReplicaRouting.currentRoute());
+    }
+
+    @Test
+    void unannotatedAccessUsesPrimary() throws Throwable {
+        joinPoint.proceed();
+
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void readInsideTransactionUsesPrimary() throws Throwable {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        aspect.routeToReplica(joinPoint);
+
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void otherClientsReadFromReplicaWhileOneWrites() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(routing);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch read = new CountDownLatch(1);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> write = writer.submit(() -> {
+                filter.doFilter(new MockHttpServletRequest("PUT", "/api/employees/1"), new MockHttpServletResponse(), (req, res) -> {
+                    try {
+                        aspect.routeToReplica(joinPoint);
+                        writing.countDown();
+                        read.await(5, TimeUnit.SECONDS);
+                    } catch (Throwable e) {
+                        throw new AssertionError(e);
+                    }
+                });
+                return null;
+            });
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/employees/2"), new MockHttpServletResponse(), (req, res) -> {
+                try {
+                    aspect.routeToReplica(joinPoint);
+                } catch (Throwable e) {
+                    throw new AssertionError(e);
+                }
+            });
+            read.countDown();
+            write.get(5, TimeUnit.SECONDS);
+        } finally {
+            writer.shutdownNow();
+        }
+
+        // The writer read its own request from the primary, the other client from the replica.
+        verify(primary).getConnection();
+        verify(replica).getConnection();
+    }
+
+    @Test
+    void writeRequestSetsPrimaryCookie() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(routing);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("PUT", "/api/employees/1"), response, (req, res) -> {
+            try {
+                aspect.routeToReplica(joinPoint);
+            } catch (Throwable e) {
+                throw new AssertionError(e);
+            }
+        });
+
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertNotNull(cookie);
+        assertTrue(Long.parseLong(cookie.getValue()) > System.currentTimeMillis());
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void readWithinWindowUsesPrimaryAndAfterItReplica() throws Throwable {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(routing);
+        MockHttpServletRequest recent = new MockHttpServletRequest("GET", "/api/employees/1");
+        recent.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(System.currentTimeMillis() + 5000)));
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/api/employees/1");
+        expired.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(System.currentTimeMillis() - 1)));
+
+        for (MockHttpServletRequest request : new MockHttpServletRequest[]{recent, expired}) {
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+                try {
+                    aspect.routeToReplica(joinPoint);
+                } catch (Throwable e) {
+                    throw new AssertionError(e);
+                }
+            });
+        }
+
+        verify(primary).getConnection();
+        verify(replica).getConnection();
+        assertTrue(routing.isReplicaAllowed());
+    }
+}
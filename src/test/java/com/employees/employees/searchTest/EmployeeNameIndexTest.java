@@ -0,0 +1,73 @@
+package com.employees.employees.searchTest;
+
+import com.employees.employees.entity.Employee;
+import com.employees.employees.event.ChangeType;
+import com.employees.employees.event.EmployeeChangedEvent;
+import com.employees.employees.repository.EmployeeRepository;
+import com.employees.employees.search.EmployeeNameIndex;
+import com.employees.employees.search.SearchMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class EmployeeNameIndexTest {
+    private EmployeeNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmployeeNameIndex(mock(EmployeeRepository.class), true, new SimpleMeterRegistry());
+        index.onEmployeeChanged(created(1L, "Mirko Petrović"));
+        index.onEmployeeChanged(created(2L, "Petar Mirković"));
+        index.onEmployeeChanged(created(3L, "Ana Jović"));
+    }
+
+    @Test
+    void testSearchModes() {
+        assertEquals(Arrays.asList(1L, 2L), ids(index.search("MIRK", SearchMode.CONTAINS)));
+        assertEquals(Arrays.asList(2L), ids(index.search("petar m", SearchMode.PREFIX)));
+        assertEquals(Arrays.asList(1L, 2L), ids(index.search("pet mir", SearchMode.TOKEN)));
+        assertTrue(index.search("etar", SearchMode.TOKEN).isEmpty());
+        assertEquals(Arrays.asList(3L), ids(index.search("jovic", SearchMode.CONTAINS)));
+        assertEquals(Arrays.asList(3L), ids(index.search("a", SearchMode.PREFIX)));
+    }
+
+    @Test
+    void testUpdatesAndDeletesAreApplied() {
+        Employee renamed = employee(3L, "Ana Mirić");
+        renamed.setVersion(1);
+        index.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 3L, renamed));
+        index.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.DELETED, 1L, null));
+
+        assertEquals(Arrays.asList(3L), ids(index.search("miri", SearchMode.CONTAINS)));
+        // Clients build If-Match from search results.
+        assertEquals(1, index.search("miri", SearchMode.CONTAINS).get(0).getVersion());
+        assertTrue(index.search("jovic", SearchMode.CONTAINS).isEmpty());
+        assertEquals(2, index.size());
+        assertTrue(index.estimatedBytesPerEmployee() > 0);
+    }
+
+    private static List<Long> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).collect(Collectors.toList());
+    }
+
+    private static EmployeeChangedEvent created(Long id, String name) {
+        return new EmployeeChangedEvent(ChangeType.CREATED, id, employee(id, name));
+    }
+
+    private static Employee employee(Long id, String name) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName(name);
+        employee.setIdTeam(1);
+        employee.setIsTeamLead(false);
+        employee.setVersion(0);
+        return employee;
+    }
+}
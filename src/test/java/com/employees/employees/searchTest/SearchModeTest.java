@@ -0,0 +1,22 @@
+package com.employees.employees.searchTest;
+
+import com.employees.employees.search.SearchMode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchModeTest {
+    @Test
+    void testMatchesIgnoreCaseAndAccents() {
+        assertTrue(SearchMode.CONTAINS.matches("Mirko Petrović", "petrovic"));
+        assertTrue(SearchMode.PREFIX.matches("Šćepan Jović", "scepan j"));
+        assertTrue(SearchMode.TOKEN.matches("Mirko Petrović", "PETRO mir"));
+        assertFalse(SearchMode.TOKEN.matches("Mirko Petrović", "etro"));
+    }
+
+    @Test
+    void testTokenTermWithoutWordsMatchesNothing() {
+        assertFalse(SearchMode.TOKEN.matches("Mirko Petrović", "--"));
+        assertFalse(SearchMode.TOKEN.matches("Mirko Petrović", " "));
+    }
+}
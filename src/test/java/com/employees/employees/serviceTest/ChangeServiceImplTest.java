@@ -0,0 +1,76 @@
+package com.employees.employees.serviceTest;
+
+import com.employees.employees.changes.ChangeStream;
+import com.employees.employees.dto.ChangesDto;
+import com.employees.employees.entity.Change;
+import com.employees.employees.event.ChangeEntity;
+import com.employees.employees.event.ChangeType;
+import com.employees.employees.exception.InvalidRequestException;
+import com.employees.employees.repository.ChangeLogRepository;
+import com.employees.employees.service.impl.ChangeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ChangeServiceImplTest {
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    @Mock
+    private ChangeStream changeStream;
+
+    private ChangeServiceImpl changeService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        changeService = new ChangeServiceImpl(changeLogRepository, changeStream, Duration.ofSeconds(1));
+    }
+
+    private static Change change(long seq) {
+        return new Change(seq, ChangeEntity.EMPLOYEE, 100 + seq, ChangeType.UPDATED, 1, "{}", LocalDateTime.now());
+    }
+
+    @Test
+    void testGetChangesReportsMoreWhenPageIsFull() {
+        when(changeLogRepository.getSince(eq(10L), eq(3), any())).thenReturn(Arrays.asList(change(11), change(12), change(13)));
+
+        ChangesDto changes = changeService.getChanges(10L, 2);
+
+        assertEquals(2, changes.getChanges().size());
+        assertEquals(12L, changes.getNextSince());
+        assertTrue(changes.getHasMore());
+        assertEquals(112L, changes.getChanges().get(1).getEntityId());
+    }
+
+    @Test
+    void testGetChangesWhenCaughtUpKeepsSince() {
+        when(changeLogRepository.getSince(eq(42L), anyInt(), any())).thenReturn(Collections.emptyList());
+
+        ChangesDto changes = changeService.getChanges(42L, null);
+
+        assertTrue(changes.getChanges().isEmpty());
+        assertEquals(42L, changes.getNextSince());
+        assertFalse(changes.getHasMore());
+        verify(changeLogRepository).getSince(42L, ChangeServiceImpl.DEFAULT_PAGE_SIZE + 1, Duration.ofSeconds(1));
+    }
+
+    @Test
+    void testGetChangesRejectsNegativeSince() {
+        assertThrows(InvalidRequestException.class, () -> changeService.getChanges(-1L, null));
+        verify(changeLogRepository, never()).getSince(anyLong(), anyInt(), any());
+    }
+}
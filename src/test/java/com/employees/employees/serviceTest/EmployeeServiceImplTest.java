@@ -1,8 +1,17 @@
 package com.employees.employees.serviceTest;
 
+import com.employees.employees.dto.BatchRowStatus;
+import com.employees.employees.dto.EmployeeBatchResultDto;
 import com.employees.employees.dto.EmployeeDto;
+import com.employees.employees.dto.EmployeePatchDto;
+import com.employees.employees.dto.EmployeesByIdsDto;
+import com.employees.employees.dto.PageDto;
 import com.employees.employees.entity.Employee;
+import com.employees.employees.exception.InvalidRequestException;
 import com.employees.employees.repository.EmployeeRepository;
+import com.employees.employees.repository.TeamRepository;
+import com.employees.employees.search.EmployeeNameIndex;
+import com.employees.employees.search.SearchMode;
 import com.employees.employees.service.impl.EmployeeServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,7 +19,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -18,6 +35,12 @@ public class EmployeeServiceImplTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private TeamRepository teamRepository;
+
+    @Mock
+    private EmployeeNameIndex employeeNameIndex;
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
@@ -48,4 +71,147 @@ public class EmployeeServiceImplTest {
         assertEquals(employee.getId(), createdEmployee.getId());
         verify(employeeRepository, times(1)).create(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetPageReturnsNextCursorWhenMoreRowsExist() {
+        when(employeeRepository.getPage(10L, 3)).thenReturn(Arrays.asList(employee(11L), employee(12L), employee(13L)));
+
+        PageDto<EmployeeDto> page = employeeService.getPage(10L, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(12L, page.getNextCursor());
+        verify(employeeRepository, times(1)).getPage(10L, 3);
+    }
+
+    @Test
+    void testGetPageOnLastPageHasNoCursor() {
+        when(employeeRepository.getPage(null, 101)).thenReturn(Arrays.asList(employee(1L), employee(2L)));
+
+        PageDto<EmployeeDto> page = employeeService.getPage(null, null);
+
+        assertEquals(2, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testCreateAllReportsRejectedRows() {
+        when(employeeRepository.getExistingIds(any())).thenReturn(Collections.singleton(2L));
+        when(teamRepository.getExistingIds(any())).thenReturn(Collections.singleton(1));
+
+        EmployeeDto created = employeeDto(1L, 1);
+        EmployeeDto existing = employeeDto(2L, 1);
+        EmployeeDto missingTeam = employeeDto(3L, 7);
+        EmployeeDto duplicate = employeeDto(1L, 1);
+
+        EmployeeBatchResultDto result = employeeService.createAll(Arrays.asList(created, existing, missingTeam, duplicate));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(3, result.getRejected());
+        assertEquals(BatchRowStatus.CREATED, result.getResults().get(0).getStatus());
+        assertEquals(BatchRowStatus.ALREADY_EXISTS, result.getResults().get(1).getStatus());
+        assertEquals(BatchRowStatus.TEAM_DOES_NOT_EXIST, result.getResults().get(2).getStatus());
+        assertEquals(BatchRowStatus.DUPLICATE_IN_REQUEST, result.getResults().get(3).getStatus());
+        verify(employeeRepository, times(1)).createAll(argThat(employees -> employees.size() == 1));
+    }
+
+    @Test
+    void testNameOnlySearchIsServedByReadyIndex() {
+        when(employeeNameIndex.isReady()).thenReturn(true);
+        when(employeeNameIndex.search("mir", SearchMode.PREFIX)).thenReturn(Collections.singletonList(employee(1L)));
+
+        assertEquals(1, employeeService.search(null, "mir", SearchMode.PREFIX, null, null).size());
+        verify(employeeRepository, never()).search(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testGetByIdsKeepsRequestOrderAndReportsMissing() {
+        when(employeeRepository.getByIds(any())).thenReturn(Arrays.asList(employee(1L), employee(3L)));
+
+        EmployeesByIdsDto result = employeeService.getByIds(Arrays.asList(3L, 2L, 1L, 3L));
+
+        assertEquals(Arrays.asList(3L, 1L), result.getFound().stream().map(EmployeeDto::getId).collect(Collectors.toList()));
+        assertEquals(Collections.singletonList(2L), result.getMissing());
+        verify(employeeRepository).getByIds(argThat(ids -> ids.size() == 3));
+    }
+
+    @Test
+    void testGetByIdsRejectsTooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, EmployeeServiceImpl.MAX_IDS + 1).boxed().collect(Collectors.toList());
+
+        assertThrows(InvalidRequestException.class, () -> employeeService.getByIds(ids));
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void testGetByIdsRejectsNullIds() {
+        assertThrows(InvalidRequestException.class, () -> employeeService.getByIds(Arrays.asList(1L, null, 2L)));
+        verifyNoInteractions(employeeRepository);
+    }
+
+    private EmployeeDto employeeDto(Long id, Integer idTeam) {
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setId(id);
+        employeeDto.setName("Employee " + id);
+        employeeDto.setIdTeam(idTeam);
+        return employeeDto;
+    }
+
+    private Employee employee(Long id) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName("Employee " + id);
+        employee.setIdTeam(1);
+        employee.setIsTeamLead(false);
+        return employee;
+    }
+
+    @Test
+    void testUpdatePassesExpectedVersion() {
+        Employee updated = new Employee();
+        updated.setId(111111L);
+        updated.setName("Ana");
+        updated.setIsTeamLead(true);
+        updated.setIdTeam(1);
+        updated.setVersion(8);
+        when(employeeRepository.update(eq(111111L), argThat(employee -> employee.getVersion() == 7))).thenReturn(updated);
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setId(111111L);
+        employeeDto.setName("Ana");
+        employeeDto.setIsTeamLead(true);
+        employeeDto.setIdTeam(1);
+        employeeDto.setVersion(7);
+
+        EmployeeDto result = employeeService.update(111111L, employeeDto);
+
+        assertEquals(8, result.getVersion());
+    }
+
+    @Test
+    void testPatchMovesEmployeeToAnotherTeam() {
+        Employee patched = new Employee();
+        patched.setId(111111L);
+        patched.setName("Ana");
+        patched.setIsTeamLead(false);
+        patched.setIdTeam(2);
+        patched.setVersion(4);
+        when(employeeRepository.patch(eq(111111L), argThat(changes -> changes.getIdTeam() == 2
+                && changes.getName() == null && changes.getIsTeamLead() == null && changes.getVersion() == null)))
+                .thenReturn(patched);
+        EmployeePatchDto employeePatchDto = new EmployeePatchDto();
+        employeePatchDto.setIdTeam(2);
+
+        EmployeeDto result = employeeService.patch(111111L, employeePatchDto);
+
+        assertEquals(2, result.getIdTeam());
+        assertEquals(4, result.getVersion());
+    }
+
+    @Test
+    void testPatchWithoutChangesIsRejected() {
+        EmployeePatchDto employeePatchDto = new EmployeePatchDto();
+        employeePatchDto.setVersion(3);
+
+        assertThrows(InvalidRequestException.class, () -> employeeService.patch(111111L, employeePatchDto));
+        verify(employeeRepository, never()).patch(any(), any());
+    }
+}
@@ -0,0 +1,105 @@
+package com.employees.employees.serviceTest;
+
+import com.employees.employees.dto.BatchRowStatus;
+import com.employees.employees.dto.EmployeeBatchResultDto;
+import com.employees.employees.dto.EmployeeDto;
+import com.employees.employees.dto.PageDto;
+import com.employees.employees.entity.Employee;
+import com.employees.employees.exception.RecordDoesNotExists;
+import com.employees.employees.repository.ReactiveEmployeeRepository;
+import com.employees.employees.repository.ReactiveTeamRepository;
+import com.employees.employees.service.impl.ReactiveEmployeeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+public class ReactiveEmployeeServiceImplTest {
+    @Mock
+    private ReactiveEmployeeRepository employeeRepository;
+
+    @Mock
+    private ReactiveTeamRepository teamRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @InjectMocks
+    private ReactiveEmployeeServiceImpl employeeService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionalOperator.transactional(anyMono())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void testGetByIdNotFound() {
+        when(employeeRepository.getById(42L)).thenReturn(Mono.empty());
+
+        assertThrows(RecordDoesNotExists.class, () -> employeeService.getById(42L).block());
+    }
+
+    @Test
+    void testGetPageReturnsCursorWhenMoreRowsExist() {
+        when(employeeRepository.getPage(null, 3)).thenReturn(Flux.just(employee(1L), employee(2L), employee(3L)));
+
+        PageDto<EmployeeDto> page = employeeService.getPage(null, 2).block();
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(2L, page.getNextCursor());
+    }
+
+    @Test
+    void testCreateAllReportsRowStatuses() {
+        when(employeeRepository.getExistingIds(anyCollection())).thenReturn(Flux.just(2L));
+        when(teamRepository.getExistingIds(anyCollection())).thenReturn(Flux.just(1));
+        when(employeeRepository.createAll(any())).thenReturn(Mono.empty());
+
+        EmployeeBatchResultDto result = employeeService.createAll(Arrays.asList(
+                employeeDto(1L, 1), employeeDto(2L, 1), employeeDto(1L, 1), employeeDto(3L, 9))).block();
+
+        assertEquals(1, result.getCreated());
+        assertEquals(3, result.getRejected());
+        assertEquals(BatchRowStatus.CREATED, result.getResults().get(0).getStatus());
+        assertEquals(BatchRowStatus.ALREADY_EXISTS, result.getResults().get(1).getStatus());
+        assertEquals(BatchRowStatus.DUPLICATE_IN_REQUEST, result.getResults().get(2).getStatus());
+        assertEquals(BatchRowStatus.TEAM_DOES_NOT_EXIST, result.getResults().get(3).getStatus());
+        verify(employeeRepository).createAll(argThat(employees -> employees.size() == 1 && employees.get(0).getId() == 1L));
+        verify(transactionalOperator).transactional(anyMono());
+    }
+
+    private static <T> Mono<T> anyMono() {
+        return any();
+    }
+
+    private static Employee employee(Long id) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName("Employee " + id);
+        employee.setIsTeamLead(false);
+        employee.setIdTeam(1);
+        return employee;
+    }
+
+    private static EmployeeDto employeeDto(Long id, Integer idTeam) {
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setId(id);
+        employeeDto.setName("Employee " + id);
+        employeeDto.setIsTeamLead(false);
+        employeeDto.setIdTeam(idTeam);
+        return employeeDto;
+    }
+}
@@ -1,9 +1,15 @@
 package com.employees.employees.serviceTest;
 
 import com.employees.employees.dto.TeamDto;
+import com.employees.employees.dto.TeamWithMembersDto;
+import com.employees.employees.entity.Employee;
 import com.employees.employees.entity.Team;
+import com.employees.employees.entity.TeamWithMembers;
+import com.employees.employees.exception.RecordDoesNotExists;
+import com.employees.employees.exception.VersionConflictException;
 import com.employees.employees.repository.TeamRepository;
 import com.employees.employees.service.impl.TeamServiceImpl;
+import com.employees.employees.stats.TeamStatistics;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,12 +18,16 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
+import java.util.Arrays;
 import java.util.Optional;
 
 public class TeamServiceImplTest {
     @Mock
     private TeamRepository teamRepository;
 
+    @Mock
+    private TeamStatistics teamStatistics;
+
     @InjectMocks
     private TeamServiceImpl teamService;
 
@@ -40,4 +50,63 @@ public class TeamServiceImplTest {
         Mockito.verify(teamRepository, Mockito.times(1)).getById(1);
     }
 
+    @Test
+    void testGetWithMembers() {
+        Employee lead = new Employee();
+        lead.setId(2L);
+        lead.setName("Mirko");
+        lead.setIsTeamLead(true);
+        lead.setIdTeam(1);
+        Employee member = new Employee();
+        member.setId(1L);
+        member.setName("Ana");
+        member.setIsTeamLead(false);
+        member.setIdTeam(1);
+        TeamWithMembers mockTeam = new TeamWithMembers();
+        mockTeam.setId(1);
+        mockTeam.setName("Development");
+        mockTeam.setTeamLead(lead);
+        mockTeam.setMembers(Arrays.asList(member, lead));
+        Mockito.when(teamRepository.getWithMembers(1)).thenReturn(Optional.of(mockTeam));
+
+        TeamWithMembersDto result = teamService.getWithMembers(1);
+
+        Assertions.assertEquals("Development", result.getName());
+        Assertions.assertEquals(2L, result.getTeamLead().getId());
+        Assertions.assertEquals(2, result.getMembers().size());
+    }
+
+    @Test
+    void testGetWithMembersNotFound() {
+        Mockito.when(teamRepository.getWithMembers(1)).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(RecordDoesNotExists.class, () -> teamService.getWithMembers(1));
+    }
+
+    @Test
+    void testUpdatePassesExpectedVersion() {
+        Team updated = new Team();
+        updated.setId(1);
+        updated.setName("Platform");
+        updated.setVersion(4);
+        Mockito.when(teamRepository.update(Mockito.eq(1), Mockito.argThat(team -> team.getVersion() == 3))).thenReturn(updated);
+        TeamDto teamDto = new TeamDto();
+        teamDto.setName("Platform");
+        teamDto.setVersion(3);
+
+        TeamDto result = teamService.update(1, teamDto);
+
+        Assertions.assertEquals(4, result.getVersion());
+    }
+
+    @Test
+    void testUpdateVersionConflict() {
+        Mockito.when(teamRepository.update(Mockito.eq(1), Mockito.any()))
+                .thenThrow(new VersionConflictException("Team ID 1 was modified concurrently"));
+        TeamDto teamDto = new TeamDto();
+        teamDto.setName("Platform");
+        teamDto.setVersion(3);
+
+        Assertions.assertThrows(VersionConflictException.class, () -> teamService.update(1, teamDto));
+    }
 }
@@ -0,0 +1,88 @@
+package com.employees.employees.statsTest;
+
+import com.employees.employees.entity.Employee;
+import com.employees.employees.entity.TeamStats;
+import com.employees.employees.event.ChangeType;
+import com.employees.employees.event.EmployeeChangedEvent;
+import com.employees.employees.event.TeamChangedEvent;
+import com.employees.employees.repository.TeamRepository;
+import com.employees.employees.stats.TeamStatistics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TeamStatisticsTest {
+    private TeamRepository teamRepository;
+    private TeamStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        teamRepository = mock(TeamRepository.class);
+        when(teamRepository.getStats()).thenReturn(Arrays.asList(new TeamStats(1, 2, 1, null), new TeamStats(2, 0, 0, null)));
+        statistics = new TeamStatistics(teamRepository, new SimpleMeterRegistry(), Duration.ofMinutes(5));
+        statistics.reconcile();
+    }
+
+    @Test
+    void testIncrementalChanges() {
+        assertTrue(statistics.isReady());
+
+        statistics.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.CREATED, 3L, employee(3L, 2, true)));
+        statistics.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 1L, employee(1L, 2, false), employee(1L, 1, true)));
+
+        assertCounts(1, 1, 0);
+        assertCounts(2, 2, 1);
+        assertNotNull(statistics.get(2).get().getLastModified());
+
+        statistics.onTeamChanged(new TeamChangedEvent(ChangeType.DELETED, 2));
+        assertFalse(statistics.get(2).isPresent());
+    }
+
+    @Test
+    void testChangeWithoutPreviousStateTriggersReconcile() {
+        statistics.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.DELETED, 1L, null));
+        when(teamRepository.getStats()).thenReturn(Collections.singletonList(new TeamStats(1, 1, 0, null)));
+
+        statistics.reconcileIfNeeded();
+
+        verify(teamRepository, times(2)).getStats();
+        assertCounts(1, 1, 0);
+        assertFalse(statistics.get(2).isPresent());
+    }
+
+    @Test
+    void changesDuringAReconcileAreKeptWithoutAnotherOne() {
+        when(teamRepository.getStats()).thenAnswer(invocation -> {
+            statistics.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.CREATED, 3L, employee(3L, 2, true)));
+            return Arrays.asList(new TeamStats(1, 2, 1, null), new TeamStats(2, 0, 0, null));
+        });
+
+        statistics.reconcile();
+        statistics.reconcileIfNeeded();
+
+        verify(teamRepository, times(2)).getStats();
+        assertCounts(2, 1, 1);
+    }
+
+    private void assertCounts(int idTeam, int headcount, int leads) {
+        TeamStats stats = statistics.get(idTeam).orElseThrow(AssertionError::new);
+        assertEquals(headcount, stats.getHeadcount());
+        assertEquals(leads, stats.getLeads());
+    }
+
+    private static Employee employee(Long id, Integer idTeam, boolean isTeamLead) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName("Employee " + id);
+        employee.setIsTeamLead(isTeamLead);
+        employee.setIdTeam(idTeam);
+        return employee;
+    }
+}
@@ -0,0 +1,206 @@
+package com.employees.employees.writeBehindTest;
+
+import com.employees.employees.entity.Employee;
+import com.employees.employees.entity.Team;
+import com.employees.employees.event.ChangeType;
+import com.employees.employees.event.EmployeeChangedEvent;
+import com.employees.employees.exception.RecordDoesNotExists;
+import com.employees.employees.exception.VersionConflictException;
+import com.employees.employees.repository.TeamRepository;
+import com.employees.employees.repository.impl.EmployeeRepositoryImpl;
+import com.employees.employees.repository.impl.WriteBehindEmployeeRepository;
+import com.employees.employees.search.SearchMode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class WriteBehindEmployeeRepositoryTest {
+    @TempDir
+    Path directory;
+
+    private EmployeeRepositoryImpl delegate;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(EmployeeRepositoryImpl.class);
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(delegate.getFromPrimary(1L)).thenReturn(Optional.of(employee(1, "Mirko Petrovic", 1, 0)));
+        batchUpdates(1);
+    }
+
+    // Every row of a flushed batch reports this update count.
+    private void batchUpdates(int count) {
+        when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class))).thenAnswer(invocation -> {
+            int[] counts = new int[invocation.getArgument(1, SqlParameterSource[].class).length];
+            Arrays.fill(counts, count);
+            return counts;
+        });
+    }
+
+    private WriteBehindEmployeeRepository repository() {
+        TeamRepository teamRepository = mock(TeamRepository.class);
+        when(teamRepository.getById(anyInt())).thenReturn(Optional.of(new Team()));
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        return new WriteBehindEmployeeRepository(delegate, teamRepository, jdbcTemplate, transactionManager, eventPublisher,
+                new ConcurrentMapCacheManager(), new ObjectMapper(), meterRegistry, directory.resolve("updates.journal"), 1000, 100000);
+    }
+
+    private static Employee employee(long id, String name, int idTeam, Integer version) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName(name);
+        employee.setIdTeam(idTeam);
+        employee.setVersion(version);
+        return employee;
+    }
+
+    @Test
+    void updatesAreCoalescedIntoOneRowPerEmployee() {
+        WriteBehindEmployeeRepository repository = repository();
+        Employee changes = new Employee();
+        changes.setIdTeam(2);
+        changes.setVersion(0);
+        repository.patch(1L, changes);
+        Employee updated = repository.update(1L, employee(1, "Mirko P.", 3, 1));
+
+        assertEquals(2, updated.getVersion());
+        assertEquals(updated, repository.getById(1L).orElseThrow());
+        verifyNoInteractions(jdbcTemplate, eventPublisher);
+
+        repository.flush();
+
+        ArgumentCaptor<SqlParameterSource[]> rows = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(1, rows.getValue().length);
+        MapSqlParameterSource row = (MapSqlParameterSource) rows.getValue()[0];
+        assertEquals("Mirko P.", row.getValue("name"));
+        assertEquals(2, row.getValue("version"));
+        assertEquals(0, row.getValue("baseVersion"));
+        ArgumentCaptor<EmployeeChangedEvent> event = ArgumentCaptor.forClass(EmployeeChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(ChangeType.UPDATED, event.getValue().getType());
+        assertEquals(1, event.getValue().getPrevious().getIdTeam());
+        assertEquals(0, repository.getPendingCount());
+    }
+
+    @Test
+    void readsSeePendingUpdates() {
+        WriteBehindEmployeeRepository repository = repository();
+        Employee ana = employee(2, "Ana Jovanovic", 1, 0);
+        when(delegate.getAll()).thenReturn(List.of(employee(1, "Mirko Petrovic", 1, 0), ana));
+        when(delegate.search(null, "mirko", SearchMode.PREFIX, null, null)).thenReturn(List.of(employee(1, "Mirko Petrovic", 1, 0)));
+        when(delegate.search(null, "ana", SearchMode.PREFIX, null, null)).thenReturn(List.of(ana));
+        repository.update(1L, employee(1, "Ana Petrovic", 1, null));
+
+        assertEquals(List.of("Ana Petrovic", "Ana Jovanovic"), repository.getAll().stream().map(Employee::getName).toList());
+        assertTrue(repository.search(null, "mirko", SearchMode.PREFIX, null, null).isEmpty());
+        assertEquals(2, repository.search(null, "ana", SearchMode.PREFIX, null, null).size());
+    }
+
+    @Test
+    void pendingUpdatesAreReplayedAfterRestart() throws Exception {
+        WriteBehindEmployeeRepository repository = repository();
+        repository.update(1L, employee(1, "Mirko P.", 2, 0));
+        when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class)))
+                .thenThrow(new org.springframework.dao.QueryTimeoutException("down"));
+        repository.shutdown();
+
+        reset(jdbcTemplate);
+        batchUpdates(1);
+        WriteBehindEmployeeRepository restarted = repository();
+        assertEquals(1, restarted.getPendingCount());
+        assertEquals("Mirko P.", restarted.getById(1L).orElseThrow().getName());
+        assertThrows(VersionConflictException.class, () -> restarted.update(1L, employee(1, "Other", 2, 0)));
+
+        restarted.flush();
+        ArgumentCaptor<SqlParameterSource[]> rows = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(0, rows.getValue()[0].getValue("baseVersion"));
+        restarted.shutdown();
+        assertEquals(0, repository().getPendingCount());
+    }
+
+    @Test
+    void rowsTheDatabaseNoLongerAcceptsAreDroppedWithoutEvents() {
+        WriteBehindEmployeeRepository repository = repository();
+        repository.update(1L, employee(1, "Mirko P.", 2, 0));
+        // Deleted, changed elsewhere or moved to a deleted team since the update was acknowledged.
+        batchUpdates(0);
+
+        repository.flush();
+
+        verifyNoInteractions(eventPublisher);
+        assertEquals(0, repository.getPendingCount());
+        assertEquals(1.0, meterRegistry.get("employees.writebehind.rejected").counter().count());
+    }
+
+    @Test
+    void deleteKeepsThePendingUpdateUntilItSucceeds() throws Exception {
+        WriteBehindEmployeeRepository repository = repository();
+        repository.update(1L, employee(1, "Mirko P.", 2, 0));
+        doThrow(new RecordDoesNotExists("Employee with ID 1 does not exists")).doNothing().when(delegate).delete(1L);
+
+        assertThrows(RecordDoesNotExists.class, () -> repository.delete(1L));
+        assertEquals(1, repository.getPendingCount());
+        repository.delete(1L);
+        assertEquals(0, repository.getPendingCount());
+
+        // The tombstone is in the journal, a restart does not bring the update back.
+        repository.shutdown();
+        assertEquals(0, repository().getPendingCount());
+    }
+
+    @Test
+    void updateDuringAFlushBuildsOnTheWrittenRow() throws Exception {
+        WriteBehindEmployeeRepository repository = repository();
+        repository.update(1L, employee(1, "Mirko P.", 2, 0));
+        when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class))).thenAnswer(invocation -> {
+            repository.update(1L, employee(1, "Mirko Petrovic", 3, 1));
+            return new int[]{1};
+        });
+
+        repository.flush();
+
+        // Still pending, now based on version 1 which the flush wrote. A restart keeps that base.
+        assertEquals(1, repository.getPendingCount());
+        when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class)))
+                .thenThrow(new org.springframework.dao.QueryTimeoutException("down"));
+        repository.shutdown();
+        reset(jdbcTemplate, eventPublisher);
+        batchUpdates(1);
+        WriteBehindEmployeeRepository restarted = repository();
+        assertEquals(1, restarted.getPendingCount());
+
+        restarted.flush();
+        ArgumentCaptor<SqlParameterSource[]> rows = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(1, rows.getValue()[0].getValue("baseVersion"));
+        assertEquals(2, rows.getValue()[0].getValue("version"));
+        assertEquals(0, restarted.getPendingCount());
+    }
+}
@@ -0,0 +1,49 @@
+package com.employees.employees.writeBehindTest;
+
+import com.employees.employees.writebehind.JournalRecord;
+import com.employees.employees.writebehind.WriteBehindJournal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WriteBehindJournalTest {
+    @TempDir
+    Path directory;
+
+    private static JournalRecord record(long id, int version) {
+        JournalRecord record = new JournalRecord();
+        record.setId(id);
+        record.setName("Employee " + id);
+        record.setIdTeam(1);
+        record.setVersion(version);
+        return record;
+    }
+
+    @Test
+    void compactKeepsTheSnapshotAndEverythingAppendedAfterIt() throws Exception {
+        Path path = directory.resolve("updates.journal");
+        WriteBehindJournal journal = new WriteBehindJournal(path, new ObjectMapper());
+        journal.append(List.of(record(1, 1), record(2, 1), record(1, 2)));
+        WriteBehindJournal.Mark mark = journal.mark();
+        long last = journal.append(record(3, 1));
+
+        journal.compact(List.of(record(1, 2)), mark);
+        journal.sync(last);
+        journal.append(record(2, 2));
+        journal.close();
+
+        WriteBehindJournal reopened = new WriteBehindJournal(path, new ObjectMapper());
+        List<String> records = reopened.readAll().stream()
+                .map(record -> record.getId() + "@" + record.getVersion())
+                .collect(Collectors.toList());
+        assertEquals(List.of("1@2", "3@1", "2@2"), records);
+        assertEquals(3, reopened.getRecordCount());
+        reopened.close();
+    }
+}